@@ -0,0 +1,107 @@
+package baubles.api;
+
+import java.util.Arrays;
+
+/**
+ * Slot map computed from the types of a {@link BaubleTypeRegistry} and their sizes.
+ * Every enabled type gets a contiguous range of {@link BaubleTypeRegistry.Entry#getSize()} slots in id order,
+ * so the built-in defaults reproduce the classic layout (amulet 0, rings 1-2, belt 3, head 4, body 5, charm 6)
+ * and IMC registered types are appended behind it. {@link BaubleType#TRINKET} owns no slots and fits in every slot.
+ * All lookups are array accesses, no matter how many types mods add.
+ */
+public final class BaubleSlotLayout {
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final int[] slotToType;
+    private final int[] rangeStart;
+    private final int[] rangeEnd;
+    private final int[][] validSlots;
+    private final boolean[] wildcard;
+
+    private BaubleSlotLayout(BaubleTypeRegistry registry) {
+        int types = registry.size();
+        rangeStart = new int[types];
+        rangeEnd = new int[types];
+        wildcard = new boolean[types];
+
+        int slots = 0;
+        for (int id = 0; id < types; id++) {
+            BaubleTypeRegistry.Entry entry = registry.getEntry(id);
+            rangeStart[id] = slots;
+            if (entry.getType() == BaubleType.TRINKET) {
+                wildcard[id] = true;
+            } else if (entry.isEnabled()) {
+                slots += entry.getSize();
+            }
+            rangeEnd[id] = slots;
+        }
+
+        slotToType = new int[slots];
+        validSlots = new int[types][];
+        int[] all = new int[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            all[slot] = slot;
+        }
+        for (int id = 0; id < types; id++) {
+            Arrays.fill(slotToType, rangeStart[id], rangeEnd[id], id);
+            validSlots[id] = wildcard[id] ? all : rangeStart[id] == rangeEnd[id] ? NO_SLOTS : Arrays.copyOfRange(all, rangeStart[id], rangeEnd[id]);
+        }
+    }
+
+    static BaubleSlotLayout of(BaubleTypeRegistry registry) {
+        return new BaubleSlotLayout(registry);
+    }
+
+    /**
+     * @return The layout of the current registry
+     */
+    public static BaubleSlotLayout get() {
+        return BaubleTypeRegistry.get().getLayout();
+    }
+
+    /**
+     * @return The total number of typed slots
+     */
+    public int getSlotCount() {
+        return slotToType.length;
+    }
+
+    /**
+     * @return The registry id of the type owning the slot, or -1 outside the layout
+     */
+    public int getTypeId(int slot) {
+        return slot >= 0 && slot < slotToType.length ? slotToType[slot] : -1;
+    }
+
+    /**
+     * @return The first slot of the type, or -1 for unknown ids
+     */
+    public int getFirstSlot(int typeId) {
+        return typeId >= 0 && typeId < rangeStart.length ? rangeStart[typeId] : -1;
+    }
+
+    /**
+     * @return The number of slots owned by the type, 0 for wildcards and unknown ids
+     */
+    public int getSlotCount(int typeId) {
+        return typeId >= 0 && typeId < rangeStart.length ? rangeEnd[typeId] - rangeStart[typeId] : 0;
+    }
+
+    /**
+     * @return If an item of the type may go in the slot
+     */
+    public boolean isValid(int typeId, int slot) {
+        if (typeId < 0 || typeId >= wildcard.length || slot < 0 || slot >= slotToType.length) {
+            return false;
+        }
+        return wildcard[typeId] || slotToType[slot] == typeId;
+    }
+
+    /**
+     * @return The slots an item of the type may go in, shared and must not be modified
+     */
+    public int[] getValidSlots(int typeId) {
+        return typeId >= 0 && typeId < validSlots.length ? validSlots[typeId] : NO_SLOTS;
+    }
+}
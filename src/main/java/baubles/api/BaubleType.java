@@ -1,6 +1,7 @@
 package baubles.api;
 
 import baubles.api.modcom.BaublesModCom;
+import com.google.common.collect.ImmutableMap;
 import io.netty.util.internal.ConcurrentSet;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.common.event.FMLInterModComms;
@@ -8,45 +9,47 @@ import net.minecraftforge.fml.common.event.FMLInterModComms;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public enum BaubleType {
-AMULET(0),
-RING(1, 2),
-BELT(3),
-TRINKET(0, 1, 2, 3, 4, 5, 6),
-HEAD(4),
-BODY(5),
-CHARM(6);
+AMULET(1),
+RING(2),
+BELT(1),
+TRINKET(0),
+HEAD(1),
+BODY(1),
+CHARM(1);
 
 
-public static Map<String, BaubleType> idToType = new HashMap<>();
-static ConcurrentMap<String, ConcurrentSet<ResourceLocation>> iconQueues = new ConcurrentHashMap<>();
-static Map<String, ResourceLocation> icons = new HashMap<>();
-int[] validSlots;
-private String identifier;
-/**
- * The default number of slots
- */
-private int size;
 /**
- * Enabled slots will be given to holders by default
+ * Read-only snapshot of the registered built-in types by identifier, replaced when the {@link BaubleTypeRegistry} is frozen
+ *
+ * @deprecated use {@link BaubleTypeRegistry#get()}
  */
-private boolean isEnabled;
+@Deprecated
+public static volatile Map<String, BaubleType> idToType = builtInTypes();
+static ConcurrentMap<String, ConcurrentSet<ResourceLocation>> iconQueues = new ConcurrentHashMap<>();
+static Map<String, ResourceLocation> icons = new HashMap<>();
+// Changes made through the deprecated mutators, applied by the next freeze
+private static final List<BaublesModCom> legacyModifications = new ArrayList<>();
 /**
- * Hidden slots will not show up in the default Curios GUI, but will still exist
+ * Number of slots the type gets in the {@link BaubleSlotLayout} unless IMC asks for more
  */
-private boolean isHidden;
+final int builtInSize;
+private final String identifier;
 
-BaubleType(int... validSlots) {
-    this.validSlots = validSlots;
+BaubleType(int builtInSize) {
+    this.builtInSize = builtInSize;
+    this.identifier = name().toLowerCase(Locale.ROOT);
 }
 
-BaubleType(String identifier) {
-    this.identifier = identifier;
-    this.size = 1;
-    this.isEnabled = true;
-    this.isHidden = false;
+private static Map<String, BaubleType> builtInTypes() {
+    ImmutableMap.Builder<String, BaubleType> types = ImmutableMap.builder();
+    for (BaubleType type : values()) {
+        types.put(type.identifier, type);
+    }
+    return types.build();
 }
 
 /**
@@ -82,117 +85,155 @@ public static void processIcons() {
 }
 
 /**
- * Optimized version of processBaubleTypes
- * - Uses more efficient stream processing
- * - Reduces intermediate object creation
- * 
- * @param register Stream of registration messages
- * @param modify Stream of modification messages
+ * Stages the IMC registrations and modifications into a {@link BaubleTypeRegistry.Builder} and freezes the result,
+ * nothing is visible to readers until all messages are applied. Registrations are applied first,
+ * so a modification may target a type registered by any mod.
+ * Modifications of unknown types are ignored.
+ *
+ * @param register Decoded registration messages
+ * @param modify Decoded modification messages
  */
-public static void processBaubleTypes(Stream<FMLInterModComms.IMCMessage> register, Stream<FMLInterModComms.IMCMessage> modify) {
-    // Process registration messages more efficiently
-    register
-            .filter(msg -> msg.getSender() != null)
-            // Directly process each message instead of creating intermediate collections
-            .forEach(msg -> {
-                BaublesModCom msgType = (BaublesModCom) msg.getMessageType().getAnnotatedSuperclass();
-                processType(msgType, true);
-            });
-
-    // Process modification messages more efficiently
-    modify
-            .filter(msg -> msg.getSender() != null)
-            // Directly process each message instead of creating intermediate collections
-            .forEach(msg -> {
-                BaublesModCom msgType = (BaublesModCom) msg.getMessageType().getAnnotatedSuperclass();
-                processType(msgType, false);
-            });
-}
+public static BaubleTypeRegistry processBaubleTypes(List<BaublesModCom> register, List<BaublesModCom> modify) {
+    BaubleTypeRegistry.Builder builder = BaubleTypeRegistry.builder();
 
-private static void processType(BaublesModCom message, boolean create) {
-    String identifier = message.getIdentifier();
+    for (BaublesModCom message : register) {
+        builder.register(message.getIdentifier(), message.getSize(), message.isEnabled(), message.isHidden());
+    }
 
-    if (idToType.containsKey(identifier)) {
-        BaubleType presentType = idToType.get(identifier);
+    for (BaublesModCom message : modify) {
+        builder.modify(message.getIdentifier(), message.getSize(), message.isEnabled(), message.isHidden());
+    }
 
-        if (message.getSize() > presentType.getSize()) {
-            presentType.defaultSize(message.getSize());
-        }
+    return freeze(builder);
+}
 
-        if (!message.isEnabled() && presentType.isEnabled()) {
-            presentType.enabled(false);
-        }
+/**
+ * Decodes the IMC messages and stages them like {@link #processBaubleTypes(List, List)}.
+ * The registry can only be frozen once, so this throws if Baubles already processed its IMC messages.
+ *
+ * @deprecated use {@link #processBaubleTypes(List, List)}
+ */
+@Deprecated
+public static void processBaubleTypes(Stream<FMLInterModComms.IMCMessage> register, Stream<FMLInterModComms.IMCMessage> modify) {
+    processBaubleTypes(decode(register), decode(modify));
+}
 
-        if (message.isHidden() && !presentType.isHidden()) {
-            presentType.hide(true);
-        }
+private static List<BaublesModCom> decode(Stream<FMLInterModComms.IMCMessage> messages) {
+    return messages
+            .filter(msg -> msg.getSender() != null)
+            .map(BaublesModCom::fromIMC)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+}
 
-    } else if (create) {
-        idToType.put(identifier, BaubleType.valueOf(identifier)
-                .defaultSize(message.getSize())
-                .enabled(message.isEnabled())
-                .hide(message.isHidden()));
+/**
+ * Freezes the registry and refreshes the {@link #idToType} snapshot
+ */
+public static BaubleTypeRegistry freeze(BaubleTypeRegistry.Builder builder) {
+    BaubleTypeRegistry registry;
+    synchronized (legacyModifications) {
+        for (BaublesModCom message : legacyModifications) {
+            builder.modify(message.getIdentifier(), message.getSize(), message.isEnabled(), message.isHidden());
+        }
+        legacyModifications.clear();
+        registry = BaubleTypeRegistry.freeze(builder);
+    }
+    ImmutableMap.Builder<String, BaubleType> types = ImmutableMap.builder();
+    for (String identifier : registry.getIdentifiers()) {
+        BaubleType type = registry.getEntry(identifier).getType();
+        if (type != null) {
+            types.put(identifier, type);
+        }
     }
+    idToType = types.build();
+    return registry;
 }
 
 public String getIdentifier() {
     return identifier;
 }
 
+/**
+ * @return The stable id of this type in the {@link BaubleTypeRegistry}, equal to its ordinal
+ */
+public int getNumericId() {
+    return ordinal();
+}
+
+/**
+ * The default number of slots
+ */
 public int getSize() {
-    return this.size;
+    return BaubleTypeRegistry.get().getEntry(this).getSize();
 }
 
+/**
+ * Enabled slots will be given to holders by default
+ */
 public boolean isEnabled() {
-    return isEnabled;
+    return BaubleTypeRegistry.get().getEntry(this).isEnabled();
 }
 
+/**
+ * Hidden slots will not show up in the default Curios GUI, but will still exist
+ */
 public boolean isHidden() {
-    return isHidden;
+    return BaubleTypeRegistry.get().getEntry(this).isHidden();
 }
 
+/**
+ * Raises the default number of slots, staged until the registry is frozen and ignored afterwards
+ *
+ * @deprecated send a {@link BaublesApi.IMC#MODIFY_TYPE} message instead
+ */
+@Deprecated
 public final BaubleType defaultSize(int size) {
-    this.size = Math.max(size, this.size);
-    return this;
+    return stageModification(new BaublesModCom(identifier).setSize(size));
 }
 
+/**
+ * Disables the type, staged until the registry is frozen and ignored afterwards.
+ * A type disabled by any mod stays disabled, so enabling has no effect.
+ *
+ * @deprecated send a {@link BaublesApi.IMC#MODIFY_TYPE} message instead
+ */
+@Deprecated
 public final BaubleType enabled(boolean enabled) {
-    this.isEnabled = enabled;
-    return this;
+    return stageModification(new BaublesModCom(identifier).setSize(0).setEnabled(enabled));
 }
 
+/**
+ * Hides the type, staged until the registry is frozen and ignored afterwards.
+ * A type hidden by any mod stays hidden, so showing it has no effect.
+ *
+ * @deprecated send a {@link BaublesApi.IMC#MODIFY_TYPE} message instead
+ */
+@Deprecated
 public final BaubleType hide(boolean hide) {
-    this.isHidden = hide;
+    return stageModification(new BaublesModCom(identifier).setSize(0).setHidden(hide));
+}
+
+private BaubleType stageModification(BaublesModCom message) {
+    synchronized (legacyModifications) {
+        if (!BaubleTypeRegistry.isFrozen()) {
+            legacyModifications.add(message);
+        }
+    }
     return this;
 }
 
 /**
- * Optimized version of hasSlot method
- * This method is called frequently during slot validation, so optimizing it helps performance
- * 
  * @param slot The slot to check
- * @return true if this BaubleType can be equipped in the given slot
+ * @return true if this BaubleType can be equipped in the given slot of the {@link BaubleSlotLayout}
  */
 public boolean hasSlot(int slot) {
-    // Most BaubleTypes have a very small number of valid slots
-    // A direct comparison is faster than iterating when array is small
-    if (validSlots.length <= 3) {
-        // Unrolled loop is faster for small arrays
-        for (int i = 0; i < validSlots.length; i++) {
-            if (validSlots[i] == slot) return true;
-        }
-        return false;
-    } else {
-        // For BaubleTypes with many slots (e.g. TRINKET), 
-        // use the original loop which is more maintainable
-        for (int s : validSlots) {
-            if (s == slot) return true;
-        }
-        return false;
-    }
+    return BaubleSlotLayout.get().isValid(ordinal(), slot);
 }
 
+/**
+ * @return The slots of the {@link BaubleSlotLayout} this type can be equipped in, shared and must not be modified
+ */
 public int[] getValidSlots() {
-    return validSlots;
+    return BaubleSlotLayout.get().getValidSlots(ordinal());
 }
 }
\ No newline at end of file
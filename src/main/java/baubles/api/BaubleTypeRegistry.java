@@ -0,0 +1,258 @@
+package baubles.api;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable table of every known bauble type, built once after IMC and read without locking afterwards.
+ * Each type has a stable numeric id so per-type tables, like the slot layout, can be plain arrays instead of maps by name:
+ * the built-in {@link BaubleType}s take the ids of their ordinals, IMC registered types follow sorted by identifier,
+ * so client and server with the same mods agree on the ids regardless of the order messages arrived in.
+ * Until {@link #freeze} is called the registry only contains the built-in types with their defaults.
+ */
+public final class BaubleTypeRegistry {
+
+    private static volatile BaubleTypeRegistry current = builder().build();
+    private static volatile boolean frozen;
+
+    private final Entry[] entries;
+    private final ImmutableMap<String, Integer> ids;
+    private final ImmutableList<String> identifiers;
+    private final BaubleSlotLayout layout;
+
+    private BaubleTypeRegistry(Entry[] entries) {
+        this.entries = entries;
+        ImmutableMap.Builder<String, Integer> ids = ImmutableMap.builder();
+        ImmutableList.Builder<String> identifiers = ImmutableList.builder();
+        for (Entry entry : entries) {
+            ids.put(entry.identifier, entry.id);
+            identifiers.add(entry.identifier);
+        }
+        this.ids = ids.build();
+        this.identifiers = identifiers.build();
+        this.layout = BaubleSlotLayout.of(this);
+    }
+
+    /**
+     * @return The registry currently in use, the built-in defaults until the IMC stage has frozen the final one
+     */
+    public static BaubleTypeRegistry get() {
+        return current;
+    }
+
+    public static boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Publishes the final registry, may only be called once
+     */
+    public static synchronized BaubleTypeRegistry freeze(Builder builder) {
+        if (frozen) {
+            throw new IllegalStateException("The bauble type registry has already been frozen");
+        }
+        current = builder.build();
+        frozen = true;
+        return current;
+    }
+
+    /**
+     * @return A builder seeded with the built-in types
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The numeric id of the type, or -1 if it is not registered
+     */
+    public int getId(String identifier) {
+        Integer id = ids.get(identifier);
+        return id == null ? -1 : id;
+    }
+
+    @Nullable
+    public Entry getEntry(int id) {
+        return id >= 0 && id < entries.length ? entries[id] : null;
+    }
+
+    @Nullable
+    public Entry getEntry(String identifier) {
+        return getEntry(getId(identifier));
+    }
+
+    public Entry getEntry(BaubleType type) {
+        return entries[type.getNumericId()];
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * @return The identifiers of all types in id order
+     */
+    public ImmutableList<String> getIdentifiers() {
+        return identifiers;
+    }
+
+    /**
+     * @return The slot layout computed from the types and sizes of this registry
+     */
+    public BaubleSlotLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * A registered type and its IMC adjusted defaults
+     */
+    public static final class Entry {
+        private final int id;
+        private final String identifier;
+        private final int size;
+        private final boolean enabled;
+        private final boolean hidden;
+        @Nullable
+        private final BaubleType type;
+
+        private Entry(int id, String identifier, int size, boolean enabled, boolean hidden, @Nullable BaubleType type) {
+            this.id = id;
+            this.identifier = identifier;
+            this.size = size;
+            this.enabled = enabled;
+            this.hidden = hidden;
+            this.type = type;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        /**
+         * The default number of slots
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Enabled slots will be given to holders by default
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Hidden slots will not show up in the default Curios GUI, but will still exist
+         */
+        public boolean isHidden() {
+            return hidden;
+        }
+
+        /**
+         * @return The built-in type this entry describes, null for types only registered through IMC
+         */
+        @Nullable
+        public BaubleType getType() {
+            return type;
+        }
+    }
+
+    /**
+     * Collects registrations and modifications before the registry is frozen, not thread safe
+     */
+    public static final class Builder {
+        private final Map<String, Draft> builtIn = new LinkedHashMap<>();
+        private final Map<String, Draft> registered = new LinkedHashMap<>();
+
+        private Builder() {
+            for (BaubleType type : BaubleType.values()) {
+                Draft draft = new Draft(type.getIdentifier(), type);
+                draft.size = type.builtInSize;
+                builtIn.put(type.getIdentifier(), draft);
+            }
+        }
+
+        /**
+         * Registers a new type, or merges the values into an already known one
+         */
+        public Builder register(String identifier, int size, boolean enabled, boolean hidden) {
+            String key = identifier.toLowerCase(Locale.ROOT);
+            Draft draft = find(key);
+            if (draft == null) {
+                draft = new Draft(key, null);
+                draft.size = size;
+                draft.enabled = enabled;
+                draft.hidden = hidden;
+                registered.put(key, draft);
+            } else {
+                draft.merge(size, enabled, hidden);
+            }
+            return this;
+        }
+
+        /**
+         * Changes an already known type, returns false if there is no type with that identifier
+         */
+        public boolean modify(String identifier, int size, boolean enabled, boolean hidden) {
+            Draft draft = find(identifier.toLowerCase(Locale.ROOT));
+            if (draft == null) {
+                return false;
+            }
+            draft.merge(size, enabled, hidden);
+            return true;
+        }
+
+        @Nullable
+        private Draft find(String identifier) {
+            Draft draft = builtIn.get(identifier);
+            return draft != null ? draft : registered.get(identifier);
+        }
+
+        BaubleTypeRegistry build() {
+            List<Draft> drafts = new ArrayList<>(builtIn.values());
+            List<Draft> sorted = new ArrayList<>(registered.values());
+            sorted.sort((a, b) -> a.identifier.compareTo(b.identifier));
+            drafts.addAll(sorted);
+
+            Entry[] entries = new Entry[drafts.size()];
+            for (int i = 0; i < entries.length; i++) {
+                Draft draft = drafts.get(i);
+                entries[i] = new Entry(i, draft.identifier.intern(), draft.size, draft.enabled, draft.hidden, draft.type);
+            }
+            return new BaubleTypeRegistry(entries);
+        }
+    }
+
+    private static final class Draft {
+        final String identifier;
+        @Nullable
+        final BaubleType type;
+        int size = 1;
+        boolean enabled = true;
+        boolean hidden = false;
+
+        Draft(String identifier, @Nullable BaubleType type) {
+            this.identifier = identifier;
+            this.type = type;
+        }
+
+        // Sizes only grow, a type disabled or hidden by any mod stays so
+        void merge(int size, boolean enabled, boolean hidden) {
+            this.size = Math.max(this.size, size);
+            this.enabled &= enabled;
+            this.hidden |= hidden;
+        }
+    }
+}
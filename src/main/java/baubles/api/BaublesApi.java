@@ -99,14 +99,15 @@ return ImmutableMap.copyOf(BaubleType.icons);
  */
 @Nullable
 public static BaubleType getType(String identifier) {
-return BaubleType.idToType.get(identifier);
+BaubleTypeRegistry.Entry entry = BaubleTypeRegistry.get().getEntry(identifier);
+return entry == null ? null : entry.getType();
 }
 
 /**
  * @return An unmodifiable list of all unique registered identifiers
  */
 public static ImmutableSet<String> getTypeIdentifiers() {
-return ImmutableSet.copyOf(BaubleType.idToType.keySet());
+return ImmutableSet.copyOf(BaubleTypeRegistry.get().getIdentifiers());
 }
 
 /**
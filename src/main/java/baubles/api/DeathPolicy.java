@@ -0,0 +1,38 @@
+package baubles.api;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * What happens to a worn bauble when its wearer dies without the {@code keepInventory} game rule
+ */
+public enum DeathPolicy {
+    /**
+     * Stays equipped on the respawned player, like a soulbound item
+     */
+    KEEP,
+    /**
+     * Drops on the ground with the rest of the player's items
+     */
+    DROP,
+    /**
+     * Disappears for good
+     */
+    DESTROY,
+    /**
+     * Moves to the world's bauble grave store, from where an operator can give it back
+     */
+    GRAVE;
+
+    /**
+     * @return The policy with the given name, ignoring case, or null if there is none
+     */
+    @Nullable
+    public static DeathPolicy byName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package baubles.api;
 
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
 import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.ai.attributes.AttributeModifier;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.item.ItemStack;
+import net.minecraft.potion.PotionEffect;
 import net.minecraft.util.SoundCategory;
 
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * This interface should be extended by items that can be worn in bauble slots
  *
@@ -25,6 +33,28 @@ BaubleType getBaubleType(ItemStack itemstack);
 default void onWornTick(ItemStack itemstack, EntityLivingBase player) {
 }
 
+/**
+ * Marks the worn tick of this bauble as safe to compute off the main thread.
+ * When true, {@link #computeWornTick} is called on the server from a worker thread instead of {@link #onWornTick},
+ * together with every other parallel-safe bauble, at the end of the server tick once all players have ticked.
+ */
+default boolean isWornTickParallelSafe(ItemStack itemstack) {
+return false;
+}
+
+/**
+ * Parallel part of the worn tick, only called if {@link #isWornTickParallelSafe} returns true.
+ * This must not change the world, the wearer or the stack; those changes belong in the returned task,
+ * which is run on the main thread after every parallel worn tick has been computed.
+ * The task is skipped if the wearer died, changed worlds or no longer wears the stack by then.
+ *
+ * @return The task to apply the result on the main thread, or null if there is nothing to apply
+ */
+@Nullable
+default Runnable computeWornTick(ItemStack itemstack, EntityLivingBase player) {
+return () -> onWornTick(itemstack, player);
+}
+
 /**
  * This method is called when the bauble is equipped by a player
  */
@@ -37,6 +67,45 @@ default void onEquipped(ItemStack itemstack, EntityLivingBase player) {
 default void onUnequipped(ItemStack itemstack, EntityLivingBase player) {
 }
 
+/**
+ * Attribute modifiers given to the wearer while this bauble is equipped, keyed by attribute name.
+ * They are applied once when the bauble is equipped and removed when it is unequipped,
+ * so there is no need to re-apply them from {@link #onWornTick}.
+ * Modifiers sharing a UUID on the same attribute are added up across all equipped baubles.
+ */
+default Multimap<String, AttributeModifier> getWornAttributeModifiers(ItemStack itemstack, EntityLivingBase player) {
+return ImmutableMultimap.of();
+}
+
+/**
+ * The identifier of the {@link BaubleTypeRegistry} type this bauble is worn as.
+ * Override to use a type registered through IMC, the built-in types are matched by {@link #getBaubleType}.
+ */
+default String getTypeIdentifier(ItemStack itemstack) {
+return getBaubleType(itemstack).getIdentifier();
+}
+
+/**
+ * Potion effects kept on the wearer while this bauble is equipped, only used on the server.
+ * They are refreshed shortly before running out instead of being re-added from {@link #onWornTick},
+ * and a potion granted by several baubles is applied once, with the highest amplifier.
+ * The result is cached until the equipped baubles of the wearer change, effects no longer granted are then removed.
+ */
+default Collection<PotionEffect> getWornEffects(ItemStack itemstack, EntityLivingBase player) {
+return Collections.emptyList();
+}
+
+/**
+ * What happens to this bauble when the wearer dies, for stacks that decide it themselves, like soulbound ones.
+ * Rules configured for the item take precedence over this, rules configured for the bauble type don't.
+ *
+ * @return The policy of this stack, or null to use the one configured for its type
+ */
+@Nullable
+default DeathPolicy getDeathPolicy(ItemStack itemstack) {
+return null;
+}
+
 /**
  * Can this bauble be added to a bauble slot
  */
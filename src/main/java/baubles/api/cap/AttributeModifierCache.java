@@ -0,0 +1,89 @@
+package baubles.api.cap;
+
+import baubles.api.IBauble;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.Multimap;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.ai.attributes.AttributeModifier;
+import net.minecraft.item.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The attribute modifiers of all equipped baubles of one player, aggregated into a single set.
+ * Only the difference to the previously applied set is written to the attribute map,
+ * and only when the equipped baubles change.
+ */
+final class AttributeModifierCache {
+        private Multimap<String, AttributeModifier> applied = ImmutableMultimap.of();
+
+        void refresh(EntityLivingBase owner, BaubleStackHandler baubles) {
+                Multimap<String, AttributeModifier> aggregated = aggregate(owner, baubles);
+
+                Multimap<String, AttributeModifier> removed = HashMultimap.create();
+                for (Map.Entry<String, AttributeModifier> entry : applied.entries()) {
+                        if (!contains(aggregated, entry.getKey(), entry.getValue())) {
+                                removed.put(entry.getKey(), entry.getValue());
+                        }
+                }
+
+                Multimap<String, AttributeModifier> added = HashMultimap.create();
+                for (Map.Entry<String, AttributeModifier> entry : aggregated.entries()) {
+                        if (!contains(applied, entry.getKey(), entry.getValue())) {
+                                added.put(entry.getKey(), entry.getValue());
+                        }
+                }
+
+                if (!removed.isEmpty()) {
+                        owner.getAttributeMap().removeAttributeModifiers(removed);
+                }
+                if (!added.isEmpty()) {
+                        // Replaces modifiers with the same UUID whose amount changed
+                        owner.getAttributeMap().applyAttributeModifiers(added);
+                }
+                applied = aggregated;
+        }
+
+        private static Multimap<String, AttributeModifier> aggregate(EntityLivingBase owner, BaubleStackHandler baubles) {
+                Map<String, Map<UUID, AttributeModifier>> byAttribute = new HashMap<>();
+
+                for (int i = 0; i < baubles.getSlots(); i++) {
+                        ItemStack stack = baubles.getStackInSlot(i);
+                        IBauble bauble = stack.isEmpty() ? null : stack.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null);
+                        if (bauble == null) {
+                                continue;
+                        }
+
+                        for (Map.Entry<String, AttributeModifier> entry : bauble.getWornAttributeModifiers(stack, owner).entries()) {
+                                AttributeModifier modifier = entry.getValue();
+                                byAttribute.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).merge(modifier.getID(), modifier,
+                                                (a, b) -> new AttributeModifier(a.getID(), a.getName(), a.getAmount() + b.getAmount(), a.getOperation()));
+                        }
+                }
+
+                if (byAttribute.isEmpty()) {
+                        return ImmutableMultimap.of();
+                }
+
+                // The modifiers are applied again on every login, so they mustn't end up in the player's save
+                ImmutableMultimap.Builder<String, AttributeModifier> result = ImmutableMultimap.builder();
+                byAttribute.forEach((attribute, modifiers) -> {
+                        for (AttributeModifier modifier : modifiers.values()) {
+                                result.put(attribute, new AttributeModifier(modifier.getID(), modifier.getName(), modifier.getAmount(), modifier.getOperation()).setSaved(false));
+                        }
+                });
+                return result.build();
+        }
+
+        private static boolean contains(Multimap<String, AttributeModifier> modifiers, String attribute, AttributeModifier modifier) {
+                for (AttributeModifier other : modifiers.get(attribute)) {
+                        if (other.getID().equals(modifier.getID()) && other.getAmount() == modifier.getAmount() && other.getOperation() == modifier.getOperation()) {
+                                return true;
+                        }
+                }
+                return false;
+        }
+}
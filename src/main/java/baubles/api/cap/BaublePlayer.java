@@ -18,6 +18,11 @@ import javax.annotation.Nullable;
 import java.util.UUID;
 
 public class BaublePlayer implements IBaublePlayer {
+        /**
+         * The key of the bauble storage in the capability's NBT
+         */
+        public static final String STORAGE_TAG = "bauble_storage";
+
         private final BaubleStorage baubleStorage;
 
         /**
@@ -72,7 +77,7 @@ public class BaublePlayer implements IBaublePlayer {
                         BaublePlayer playerCap = validateDefaultImpl(instance);
 
                         NBTTagCompound compound = new NBTTagCompound();
-                        compound.setTag("bauble_storage", playerCap.baubleStorage.serializeNBT());
+                        compound.setTag(STORAGE_TAG, playerCap.baubleStorage.serializeNBT());
 
                         return compound;
                 }
@@ -83,8 +88,8 @@ public class BaublePlayer implements IBaublePlayer {
 
                         NBTTagCompound compound = ((NBTTagCompound) nbt);
 
-                        if (compound.hasKey("bauble_storage"))
-                                playerCap.baubleStorage.deserializeNBT(compound.getTag("bauble_storage"));
+                        if (compound.hasKey(STORAGE_TAG))
+                                playerCap.baubleStorage.deserializeNBT(compound.getTag(STORAGE_TAG));
                 }
 
                 @Override
@@ -107,15 +112,8 @@ public class BaublePlayer implements IBaublePlayer {
                         BaublePlayer fromCap = validateDefaultImpl(from);
                         BaublePlayer toCap = validateDefaultImpl(to);
                         
-                        // Directly copy the baubleStorage contents without using buffer operations
-                        // This is more efficient than serializing to a buffer and then deserializing
-                        
-                        // First, copy the storage NBT data
-                        NBTBase nbt = fromCap.baubleStorage.serializeNBT();
-                        if (nbt != null) {
-                            toCap.baubleStorage.deserializeNBT(nbt);
-                        }
-                        
+                        fromCap.baubleStorage.copyTo(toCap.baubleStorage);
+
                         // Also copy playerId if needed
                         // This maintains the server/client state correctly
                         if (fromCap.playerId != null) {
@@ -1,5 +1,6 @@
 package baubles.api.cap;
 
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.util.EnumFacing;
 import net.minecraftforge.common.capabilities.Capability;
@@ -10,6 +11,10 @@ import javax.annotation.Nonnull;
 public class BaublePlayerCapProvider implements ICapabilitySerializable<NBTBase> {
 	private final IBaublePlayer capInstance = BaublesCapabilityManager.getBaublePlayerCap().getDefaultInstance();
 
+	public BaublePlayerCapProvider(EntityLivingBase owner) {
+		capInstance.getBaubleStorage().bindOwner(owner);
+	}
+
 	@Override
 	public boolean hasCapability(@Nonnull Capability<?> capability, EnumFacing facing) {
 		return capability == BaublesCapabilityManager.getBaublePlayerCap();
@@ -4,6 +4,7 @@ import baubles.api.IBauble;
 import baubles.common.util.TypeCache;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.NonNullList;
 import net.minecraftforge.items.ItemStackHandler;
 
 /* Custom class so we can clone */
@@ -20,9 +21,70 @@ public class BaubleStackHandler extends ItemStackHandler {
                 storage = s;
         }
 
+        /**
+         * Every insert, extract and set of the handler ends up here, which makes it the place
+         * where the storage learns about equipment changes.
+         */
         @Override
         protected void onContentsChanged(int slot) {
                 storage.setChanged(slot, true);
+                storage.onContentsChanged(slot);
+        }
+
+        /**
+         * Resizes the handler, keeping every stack that still fits.
+         * Unlike {@link #setSize(int)} this doesn't wipe the contents and doesn't report a change.
+         */
+        void resize(int size) {
+                NonNullList<ItemStack> old = stacks;
+                stacks = NonNullList.withSize(size, ItemStack.EMPTY);
+                for (int i = 0; i < Math.min(size, old.size()); i++) {
+                        stacks.set(i, old.get(i));
+                }
+        }
+
+        /**
+         * Removes a slot and shifts every later stack down by one, without reporting a change
+         */
+        void removeSlot(int slot) {
+                NonNullList<ItemStack> old = stacks;
+                stacks = NonNullList.withSize(old.size() - 1, ItemStack.EMPTY);
+                for (int i = 0, j = 0; i < old.size(); i++) {
+                        if (i != slot) {
+                                stacks.set(j++, old.get(i));
+                        }
+                }
+        }
+
+        /**
+         * Hands out all stacks and leaves a single empty slot, without reporting a change
+         */
+        NonNullList<ItemStack> drain() {
+                NonNullList<ItemStack> old = stacks;
+                stacks = NonNullList.withSize(1, ItemStack.EMPTY);
+                return old;
+        }
+
+        /**
+         * Moves every non-empty stack to the front and resizes to the given size, without reporting a change
+         */
+        void compact(int size) {
+                NonNullList<ItemStack> old = stacks;
+                stacks = NonNullList.withSize(size, ItemStack.EMPTY);
+                int j = 0;
+                for (int i = 0; i < old.size() && j < size; i++) {
+                        if (!old.get(i).isEmpty()) {
+                                stacks.set(j++, old.get(i));
+                        }
+                }
+        }
+
+        /**
+         * Sets a stack without reporting a change, the caller is responsible for notifying the storage
+         */
+        void setStackSilently(int slot, ItemStack stack) {
+                validateSlotIndex(slot);
+                stacks.set(slot, stack);
         }
 
         /**
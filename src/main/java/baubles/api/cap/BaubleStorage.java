@@ -2,12 +2,15 @@ package baubles.api.cap;
 
 import baubles.api.IBauble;
 import baubles.common.Baubles;
+import baubles.common.event.BaubleEquipmentChangeEvent;
 import baubles.common.util.TypeCache;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.NonNullList;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
 
 import javax.annotation.Nonnull;
@@ -15,17 +18,27 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 public class BaubleStorage extends SerializableInnerCap<NBTBase, BaubleStorage> implements IBaubleStorage {
         // This has 1 open slot, used to render the items
         private final BaubleStackHandler baubles = new BaubleStackHandler(this);
         private final HashMap<Integer, Boolean> changed = new HashMap<>();
-        // This will always be full to the brim, used to copy into baubles
-        private BaubleStackHandler baublesold;
+        // Copies of the stacks as they were last equipped, kept in line with the slots of baubles.
+        // Comparing against these also catches stacks that were shrunk in place before being taken out.
+        private final List<ItemStack> equipped = new ArrayList<>();
+        private final AttributeModifierCache attributeModifiers = new AttributeModifierCache();
+        // The entity wearing these baubles, null until the capability is attached
+        private EntityLivingBase owner;
+        // Bumped on every change of the slots or their contents, lets views cache what they derive from them
+        private int changeCount;
+
+        void bindOwner(EntityLivingBase owner) {
+                this.owner = owner;
+        }
 
         @Override
         public void setStackInSlot(int slot, @Nonnull ItemStack stack) {
-                baublesold = new BaubleStackHandler(this, baubles);
                 if (baubles.getSlots() <= slot) {
                         addItem(stack);
                         return;
@@ -38,41 +51,96 @@ public class BaubleStorage extends SerializableInnerCap<NBTBase, BaubleStorage>
                 return baubles.getStackInSlot(i);
         }
 
-        // Optimized version of addItem - O(1) instead of O(n)
         @Override
         public void addItem(@Nonnull ItemStack stack) {
-                int currentSize = baubles.getSlots();
-                int newSize = currentSize + 1;
-                
-                // Keep a reference to the old handler for compatibility
-                baublesold = new BaubleStackHandler(this, baubles);
-                
-                // Increase size (this internally creates a new array but preserves existing items)
-                baubles.setSize(newSize);
-                
-                // Add the new item at the second-to-last position
-                baubles.setStackInSlot(newSize - 2, stack.copy());
+                // The open slot at the end takes the item and a new open slot is added after it
+                int slot = baubles.getSlots() - 1;
+                baubles.resize(slot + 2);
+                changeCount++;
+                baubles.setStackInSlot(slot, stack.copy());
         }
 
         @Override
         public void removeItemFromSlot(int slot) {
+                ItemStack from = getEquipped(slot);
+                baubles.removeSlot(slot);
+                changeCount++;
+                if (slot < equipped.size()) {
+                        equipped.remove(slot);
+                }
+                // Every later stack moved down a slot, so they all need to be synced again
+                for (int i = slot; i < baubles.getSlots(); i++) {
+                        setChanged(i, true);
+                }
                 changed.remove(baubles.getSlots());
-                // Keep a reference to the old handler for compatibility
-                baublesold = new BaubleStackHandler(this, baubles);
-                
-                int oldSize = baublesold.getSlots();
-                baubles.setSize(oldSize - 1);
-                
-                // More efficient approach - only copy items that need to be moved
-                // Items before the slot can stay in place
-                for (int i = 0; i < slot; i++) {
-                        baubles.setStackInSlot(i, baublesold.getStackInSlot(i).copy());
+                postChange(slot, from, ItemStack.EMPTY, true);
+        }
+
+        @Override
+        public List<ItemStack> drainAll() {
+                return drain(stack -> true);
+        }
+
+        @Override
+        public List<ItemStack> drain(Predicate<ItemStack> filter) {
+                NonNullList<ItemStack> old = baubles.drain();
+                changeCount++;
+
+                int slots = Math.max(old.size(), equipped.size());
+                List<ItemStack> drained = new ArrayList<>(old.size());
+                List<ItemStack> kept = new ArrayList<>();
+                List<ItemStack> keptEquipped = new ArrayList<>();
+                // Announced from the equipped copies, which also covers stacks that were emptied in place
+                List<ItemStack> unequipped = new ArrayList<>(slots);
+                for (int i = 0; i < slots; i++) {
+                        ItemStack stack = i < old.size() ? old.get(i) : ItemStack.EMPTY;
+                        ItemStack from = getEquipped(i);
+                        if (!stack.isEmpty() && !filter.test(stack)) {
+                                kept.add(stack);
+                                keptEquipped.add(from);
+                                unequipped.add(ItemStack.EMPTY);
+                        } else {
+                                if (!stack.isEmpty()) {
+                                        drained.add(stack);
+                                }
+                                unequipped.add(from);
+                        }
                 }
-                
-                // Items after the slot need to be shifted down one position
-                for (int i = slot + 1; i < oldSize; i++) {
-                        baubles.setStackInSlot(i - 1, baublesold.getStackInSlot(i).copy());
+
+                // Kept stacks only move, they stay equipped
+                baubles.resize(kept.size() + 1);
+                for (int i = 0; i < kept.size(); i++) {
+                        baubles.setStackSilently(i, kept.get(i));
                 }
+                equipped.clear();
+                equipped.addAll(keptEquipped);
+                // Slots without an entry count as changed, so every slot is synced again
+                changed.clear();
+                postDrained(unequipped);
+                return drained;
+        }
+
+        /**
+         * Copies the stacks into the storage of the entity that replaces the owner after death or leaving the End,
+         * stack by stack instead of through NBT. The target takes them as already equipped, without callbacks.
+         * On death the stacks that weren't kept have already been drained, so only those are carried over.
+         */
+        void copyTo(BaubleStorage to) {
+                List<ItemStack> stacks = new ArrayList<>();
+                for (int i = 0; i < baubles.getSlots(); i++) {
+                        ItemStack stack = baubles.getStackInSlot(i);
+                        if (!stack.isEmpty()) {
+                                stacks.add(stack.copy());
+                        }
+                }
+
+                to.baubles.resize(stacks.size() + 1);
+                for (int i = 0; i < stacks.size(); i++) {
+                        to.baubles.setStackSilently(i, stacks.get(i));
+                }
+                to.changeCount++;
+                to.changed.clear();
+                to.resetEquipped();
         }
 
         @Override
@@ -92,27 +160,19 @@ public class BaubleStorage extends SerializableInnerCap<NBTBase, BaubleStorage>
 
         @Override
         public void setSizeWithoutEmpty(int size) {
-                // Keep a reference to the old handler for compatibility
-                baublesold = new BaubleStackHandler(this, baubles);
-                
-                // Create a temporary list to store non-empty items
-                List<ItemStack> nonEmptyItems = new ArrayList<>(baublesold.getSlots());
-                
-                // Collect all non-empty items
-                for (int j = 0; j < baublesold.getSlots(); j++) {
-                        ItemStack stack = baublesold.getStackInSlot(j);
-                        if (!stack.isEmpty()) {
-                                nonEmptyItems.add(stack.copy());
+                // Catch up on stacks that were emptied in place, so the copies line up with the compacted slots
+                for (int i = 0; i < baubles.getSlots(); i++) {
+                        if (getEquipped(i).isEmpty() != baubles.getStackInSlot(i).isEmpty()) {
+                                onContentsChanged(i);
                         }
                 }
-                
-                // Resize the handler
-                baubles.setSize(size);
-                
-                // Fill with the non-empty items
-                int itemCount = Math.min(nonEmptyItems.size(), size);
-                for (int i = 0; i < itemCount; i++) {
-                        baubles.setStackInSlot(i, nonEmptyItems.get(i));
+
+                // Only moves stacks around, nothing gets equipped or unequipped
+                baubles.compact(size);
+                changeCount++;
+                equipped.removeIf(ItemStack::isEmpty);
+                while (equipped.size() > size) {
+                        equipped.remove(equipped.size() - 1);
                 }
         }
 
@@ -120,23 +180,12 @@ public class BaubleStorage extends SerializableInnerCap<NBTBase, BaubleStorage>
         @Override
         public void update() {
                 baubles.clearEmtpySlots();
-                /*baublesold = new BaubleStackHandler(this, baubles);
-                baubles.setSize(baubles.getSlots()-1);
-                // Add old items, except slot we are removing
-                for (int i = 0; i < baublesold.getSlots(); ++i)
-                        baubles.setStackInSlot(i, baublesold.getStackInSlot(i).copy());*/
         }
 
         @Override
         public void addEmptySlot() {
-                // Keep a reference to the old handler for compatibility
-                baublesold = new BaubleStackHandler(this, baubles);
-                
-                // The ItemStackHandler.setSize() method already preserves existing items
-                // when growing the size of the internal array
-                baubles.setSize(baubles.getSlots() + 1);
-                
-                // No need to manually copy items - they're already preserved by setSize()
+                baubles.resize(baubles.getSlots() + 1);
+                changeCount++;
         }
 
         @Override
@@ -149,6 +198,129 @@ public class BaubleStorage extends SerializableInnerCap<NBTBase, BaubleStorage>
                 return baubles.getSlots();
         }
 
+        /**
+         * @return A counter that changes whenever the slots or their contents change
+         */
+        public int getChangeCount() {
+                return changeCount;
+        }
+
+        /**
+         * Replaces the stack in a slot with the one received from the server.
+         * A {@link BaubleEquipmentChangeEvent} is posted, but the {@link IBauble} callbacks are not called,
+         * they already ran on the server.
+         */
+        public void syncStackInSlot(int slot, @Nonnull ItemStack stack) {
+                if (baubles.getSlots() <= slot) {
+                        baubles.resize(slot + 2);
+                }
+                baubles.setStackSilently(slot, stack);
+                changeCount++;
+                ItemStack from = getEquipped(slot);
+                setEquipped(slot, stack);
+                postChange(slot, from, stack, false);
+        }
+
+        /**
+         * Called by the handler whenever a slot was changed through it
+         */
+        void onContentsChanged(int slot) {
+                changeCount++;
+                ItemStack from = getEquipped(slot);
+                ItemStack to = baubles.getStackInSlot(slot);
+                setEquipped(slot, to);
+                postChange(slot, from, to, true);
+        }
+
+        /**
+         * The single place equipment changes are announced from.
+         * Calls {@link IBauble#onUnequipped} and {@link IBauble#onEquipped} when asked to and a different item
+         * took the slot, and posts a {@link BaubleEquipmentChangeEvent} for the slot. A stack whose damage, NBT
+         * or count changed in place, like from {@link IBauble#onWornTick}, only gets the event.
+         */
+        private void postChange(int slot, ItemStack from, ItemStack to, boolean callbacks) {
+                if (owner == null || ItemStack.areItemStacksEqual(from, to)) {
+                        return;
+                }
+
+                boolean swapped = from.isEmpty() || to.isEmpty() || !ItemStack.areItemsEqualIgnoreDurability(from, to);
+                if (callbacks && swapped) {
+                        if (!owner.world.isRemote) {
+                                attributeModifiers.refresh(owner, baubles);
+                        }
+
+                        IBauble unequipped = from.isEmpty() ? null : from.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null);
+                        if (unequipped != null) {
+                                unequipped.onUnequipped(from, owner);
+                        }
+
+                        IBauble equippedBauble = to.isEmpty() ? null : to.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null);
+                        if (equippedBauble != null) {
+                                equippedBauble.onEquipped(to, owner);
+                        }
+                }
+
+                MinecraftForge.EVENT_BUS.post(new BaubleEquipmentChangeEvent(owner, slot, from, to));
+        }
+
+        /**
+         * Announces that all slots were emptied at once: the attribute modifiers are refreshed a single time,
+         * then every unequip callback runs and every event is posted
+         */
+        private void postDrained(List<ItemStack> unequipped) {
+                if (owner == null) {
+                        return;
+                }
+
+                if (!owner.world.isRemote) {
+                        attributeModifiers.refresh(owner, baubles);
+                }
+
+                for (ItemStack from : unequipped) {
+                        IBauble bauble = from.isEmpty() ? null : from.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null);
+                        if (bauble != null) {
+                                bauble.onUnequipped(from, owner);
+                        }
+                }
+                for (int slot = 0; slot < unequipped.size(); slot++) {
+                        ItemStack from = unequipped.get(slot);
+                        if (!from.isEmpty()) {
+                                MinecraftForge.EVENT_BUS.post(new BaubleEquipmentChangeEvent(owner, slot, from, ItemStack.EMPTY));
+                        }
+                }
+        }
+
+        /**
+         * Applies the attribute modifiers of the equipped baubles to the owner, only needed on the server
+         * when the owner joins a world, as the modifiers aren't saved with the player.
+         */
+        public void refreshAttributeModifiers() {
+                if (owner != null && !owner.world.isRemote) {
+                        attributeModifiers.refresh(owner, baubles);
+                }
+        }
+
+        private ItemStack getEquipped(int slot) {
+                return slot < equipped.size() ? equipped.get(slot) : ItemStack.EMPTY;
+        }
+
+        private void setEquipped(int slot, ItemStack stack) {
+                while (equipped.size() <= slot) {
+                        equipped.add(ItemStack.EMPTY);
+                }
+                equipped.set(slot, stack.isEmpty() ? ItemStack.EMPTY : stack.copy());
+        }
+
+        /**
+         * Takes the current contents as the equipped state, without announcing anything
+         */
+        private void resetEquipped() {
+                equipped.clear();
+                for (int i = 0; i < baubles.getSlots(); i++) {
+                        setEquipped(i, baubles.getStackInSlot(i));
+                }
+        }
+
         /**
          * Optimized version of isItemValidForSlot that uses TypeCache
          * - Reduces redundant capability lookups
@@ -196,9 +368,11 @@ public class BaubleStorage extends SerializableInnerCap<NBTBase, BaubleStorage>
 
         @Override
         public void deserializeNBT(NBTBase nbt) {
-                if (nbt instanceof NBTTagCompound)
+                if (nbt instanceof NBTTagCompound) {
                         baubles.deserializeNBT((NBTTagCompound) nbt);
-                else Baubles.log.warn("nbt isn't NBTTagCompound (probably null) (in BaubleStorage.java:30) (nbt=" + nbt + ")");
+                        changeCount++;
+                        resetEquipped();
+                } else Baubles.log.warn("nbt isn't NBTTagCompound (probably null) (in BaubleStorage.java:30) (nbt=" + nbt + ")");
         }
 
         @Override
@@ -210,5 +384,15 @@ public class BaubleStorage extends SerializableInnerCap<NBTBase, BaubleStorage>
         public void readFromBuffer(PacketBuffer buffer) {
                 NBTTagCompound tag = Objects.requireNonNull(ByteBufUtils.readTag(buffer));
                 baubles.deserializeNBT(tag);
+                changeCount++;
+
+                // Announce what the sync changed, the callbacks already ran on the server
+                int slots = Math.max(equipped.size(), baubles.getSlots());
+                for (int i = 0; i < slots; i++) {
+                        ItemStack from = getEquipped(i);
+                        ItemStack to = i < baubles.getSlots() ? baubles.getStackInSlot(i) : ItemStack.EMPTY;
+                        postChange(i, from, to, false);
+                }
+                resetEquipped();
         }
 }
@@ -46,7 +46,7 @@ public class BaublesCapabilityManager {
 	@SubscribeEvent
 	public static void attachCapabilities(AttachCapabilitiesEvent<Entity> event) {
 		if (event.getObject() instanceof EntityPlayer) {
-			event.addCapability(BAUBLE_PLAYER_CAP, new BaublePlayerCapProvider());
+			event.addCapability(BAUBLE_PLAYER_CAP, new BaublePlayerCapProvider((EntityPlayer) event.getObject()));
 		}
 	}
 
@@ -57,12 +57,14 @@ public class BaublesCapabilityManager {
 			BaublePlayer baublesPlayer = (BaublePlayer) asBaublesPlayer(player);
 
 			baublesPlayer.bindPlayer(player);
+			baublesPlayer.getBaubleStorage().refreshAttributeModifiers();
 			baublesPlayer.sendUpdates();
 		}
 	}
 
 	@SubscribeEvent
 	public static void onPlayerDeath(PlayerEvent.Clone event) {
+		// On death the baubles that weren't kept were already drained by their death policy, the rest is copied as is
 		BaublePlayer.Serializer.INSTANCE.copy(asBaublesPlayer(event.getOriginal()), asBaublesPlayer(event.getEntityPlayer()));
 		//We don't need to send packets here, because after this method, the method onPlayerJoin will be fired.
 	}
@@ -4,6 +4,10 @@ import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.item.ItemStack;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
 
 public interface IBaubleStorage {
 	void setStackInSlot(int slot, @Nonnull ItemStack stack);
@@ -14,6 +18,35 @@ public interface IBaubleStorage {
 
 	void removeItemFromSlot(int slot);
 
+	/**
+	 * Takes every stack out and leaves the storage with a single empty slot, see {@link #drain}.
+	 * @return The taken stacks in slot order, owned by the caller
+	 */
+	default List<ItemStack> drainAll() {
+		return drain(stack -> true);
+	}
+
+	/**
+	 * Takes the stacks matching the filter out, the others move up to the front in their order.
+	 * The default removes the slots one by one from the back, up to the trailing empty one.
+	 * {@link BaubleStorage} does it in one pass and fires the unequip callbacks and events of all taken stacks together afterwards.
+	 * @return The taken stacks in slot order, owned by the caller
+	 */
+	default List<ItemStack> drain(Predicate<ItemStack> filter) {
+		List<ItemStack> drained = new ArrayList<>();
+		for (int i = getSize() - 1; i >= 0; i--) {
+			ItemStack stack = getStackInSlot(i);
+			if (stack.isEmpty() || filter.test(stack)) {
+				if (!stack.isEmpty()) {
+					drained.add(stack);
+				}
+				removeItemFromSlot(i);
+			}
+		}
+		Collections.reverse(drained);
+		return drained;
+	}
+
 	ItemStack extractItem(int slot, int count, boolean simulate);
 
 	boolean isChanged(int slot);
@@ -1,5 +1,14 @@
 package baubles.api.modcom;
 
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fml.common.event.FMLInterModComms;
+
+import javax.annotation.Nullable;
+
+/**
+ * Payload of the {@link baubles.api.BaublesApi.IMC} messages, sent as the NBT of {@link #toNBT()}.
+ * A plain string message is read as an identifier with the default values.
+ */
 public class BaublesModCom {
 private final String identifier;
 private int size = 1;
@@ -40,4 +49,49 @@ public BaublesModCom setHidden(boolean hidden) {
 isHidden = hidden;
 return this;
 }
-}
\ No newline at end of file
+
+public NBTTagCompound toNBT() {
+NBTTagCompound tag = new NBTTagCompound();
+tag.setString("identifier", identifier);
+tag.setInteger("size", size);
+tag.setBoolean("enabled", isEnabled);
+tag.setBoolean("hidden", isHidden);
+return tag;
+}
+
+/**
+ * @return The decoded message, or null if the tag has no identifier
+ */
+@Nullable
+public static BaublesModCom fromNBT(NBTTagCompound tag) {
+String identifier = tag.getString("identifier");
+if (identifier.isEmpty()) {
+return null;
+}
+BaublesModCom message = new BaublesModCom(identifier);
+if (tag.hasKey("size")) {
+message.setSize(tag.getInteger("size"));
+}
+if (tag.hasKey("enabled")) {
+message.setEnabled(tag.getBoolean("enabled"));
+}
+if (tag.hasKey("hidden")) {
+message.setHidden(tag.getBoolean("hidden"));
+}
+return message;
+}
+
+/**
+ * @return The decoded payload of an IMC message, or null if it is neither a tag with an identifier nor a non-empty string
+ */
+@Nullable
+public static BaublesModCom fromIMC(FMLInterModComms.IMCMessage message) {
+if (message.isNBTMessage()) {
+return fromNBT(message.getNBTValue());
+}
+if (message.isStringMessage() && !message.getStringValue().isEmpty()) {
+return new BaublesModCom(message.getStringValue());
+}
+return null;
+}
+}
@@ -14,8 +14,11 @@ package baubles.api.render;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.MathHelper;
 
+import javax.annotation.Nullable;
+
 /**
  * A Bauble Item that implements this will be have hooks to render something on
  * the player while its equipped.
@@ -32,6 +35,57 @@ public interface IRenderBauble {
  */
 public void onPlayerBaubleRender(ItemStack stack, EntityPlayer player, RenderType type, float partialTicks);
 
+/**
+ * Called instead of {@link #onPlayerBaubleRender} when the player is further away than the configured LOD distance.
+ * Override to draw a cheaper version of the render, by default the full render is used.
+ */
+default void onPlayerBaubleRenderFar(ItemStack stack, EntityPlayer player, RenderType type, float partialTicks) {
+onPlayerBaubleRender(stack, player, type, partialTicks);
+}
+
+/**
+ * Whether {@link #onPlayerBaubleRender} should be called for this type at all.
+ * The answer is cached per player until the equipped baubles change, so it must only depend on the stack.
+ */
+default boolean shouldRender(ItemStack stack, RenderType type) {
+return true;
+}
+
+/**
+ * The texture the render uses, bound by the layer before {@link #onPlayerBaubleRender} is called.
+ * Baubles sharing a texture are rendered next to each other so it is only bound once.
+ * Return null to bind textures yourself.
+ */
+@Nullable
+default ResourceLocation getRenderTexture(ItemStack stack) {
+return null;
+}
+
+/**
+ * Return true if the render only depends on the item, metadata, NBT and render type of the stack, not on the player,
+ * the partial ticks or anything else that changes between frames. Such renders are compiled into a display list once
+ * and replayed afterwards, which puts a few rules on them:
+ * <ul>
+ * <li>The render is drawn normally once before it is recorded, so {@code ModelRenderer}s compile their own lists then.
+ * It must not start display lists of its own any other way, GL doesn't allow nesting them.</li>
+ * <li>Recording and replay start from the state the render layer leaves to static renders, with white color and the
+ * {@link #getRenderTexture} bound. Anything else the render needs it has to set itself, and it has to restore
+ * everything it changed before returning, the bound texture included.</li>
+ * <li>Nothing but GL calls is recorded, code that reads or changes anything else only runs for the first frame.</li>
+ * </ul>
+ */
+default boolean isStaticRender(ItemStack stack, RenderType type) {
+return false;
+}
+
+/**
+ * Return true if {@link #onPlayerBaubleRender} leaves the matrix, the color and the bound texture as it found them.
+ * The layer then skips pushing and popping the matrix and resetting the state around this render.
+ */
+default boolean isRenderStateClean(ItemStack stack) {
+return false;
+}
+
 public enum RenderType {
 /**
  * Render Type for the player's body, translations apply on the player's rotation.
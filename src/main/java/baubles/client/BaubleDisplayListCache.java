@@ -0,0 +1,174 @@
+package baubles.client;
+
+import baubles.api.render.IRenderBauble.RenderType;
+import baubles.common.Config;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.client.resources.IResourceManagerReloadListener;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Display lists of static bauble renders, keyed by item, metadata, NBT, render type and detail.
+ * The first render of a key is drawn normally and then recorded with {@code GL_COMPILE}, later renders are a single list call.
+ * <p>
+ * A list only holds the calls the {@link GlStateManager} cache let through while recording, so it is recorded and
+ * replayed in the state the layer leaves to static renders, which is the same every frame. The cache is brought in line
+ * with GL around recording only, replaying is a plain list call.
+ * The least recently used lists are deleted once more than {@code baubleRender.displayListCacheSize} exist,
+ * and all of them are dropped on a resource reload since models and textures may have changed.
+ * Only used from the client thread.
+ */
+public final class BaubleDisplayListCache implements IResourceManagerReloadListener {
+
+	private final Map<Key, Integer> lists = new LinkedHashMap<>(64, 0.75F, true);
+	// Reused for lookups so a cache hit does not allocate
+	private final Key lookup = new Key();
+
+	public boolean isEnabled() {
+		return Config.renderDisplayListCacheSize > 0;
+	}
+
+	/**
+	 * @return The compiled list for the stack, or 0 if it has to be compiled first
+	 */
+	public int get(ItemStack stack, RenderType type, boolean far) {
+		Integer list = lists.get(lookup.set(stack, type, far));
+		return list == null ? 0 : list;
+	}
+
+	/**
+	 * Records the render of the stack into a new list without drawing it. The caller draws it normally first,
+	 * so the lists of its {@code ModelRenderer}s are compiled before and not nested into this one.
+	 *
+	 * @return The compiled list
+	 */
+	public int compile(ItemStack stack, RenderType type, boolean far, Runnable render) {
+		int list = GLAllocation.generateDisplayLists(1);
+		lists.put(new Key().set(stack, type, far).copyTag(), list);
+
+		// Recording doesn't change GL but does change the cache, the texture is put back in the cache afterwards
+		int texture = GL11.glGetInteger(GL11.GL_TEXTURE_BINDING_2D);
+		syncCache();
+		GlStateManager.glNewList(list, GL11.GL_COMPILE);
+		GlStateManager.pushMatrix();
+		render.run();
+		GlStateManager.popMatrix();
+		GlStateManager.glEndList();
+		syncCache();
+		GlStateManager.bindTexture(texture);
+
+		trim();
+		return list;
+	}
+
+	/**
+	 * Draws a compiled list, in the state of the layer it was recorded in
+	 */
+	public void replay(int list) {
+		GlStateManager.callList(list);
+	}
+
+	/**
+	 * Puts the {@link GlStateManager} cache of the capabilities renders usually touch in line with GL, keeping the GL state.
+	 * Only done around recording, which is rare, since it has to ask GL for every capability.
+	 */
+	private static void syncCache() {
+		sync(GL11.GL_TEXTURE_2D, GlStateManager::enableTexture2D, GlStateManager::disableTexture2D);
+		sync(GL11.GL_LIGHTING, GlStateManager::enableLighting, GlStateManager::disableLighting);
+		sync(GL12.GL_RESCALE_NORMAL, GlStateManager::enableRescaleNormal, GlStateManager::disableRescaleNormal);
+		sync(GL11.GL_ALPHA_TEST, GlStateManager::enableAlpha, GlStateManager::disableAlpha);
+		sync(GL11.GL_DEPTH_TEST, GlStateManager::enableDepth, GlStateManager::disableDepth);
+		sync(GL11.GL_BLEND, GlStateManager::enableBlend, GlStateManager::disableBlend);
+		sync(GL11.GL_CULL_FACE, GlStateManager::enableCull, GlStateManager::disableCull);
+	}
+
+	// Switches to the opposite first, a single call is skipped when the cache already believes it is set
+	private static void sync(int capability, Runnable enable, Runnable disable) {
+		if (GL11.glIsEnabled(capability)) {
+			disable.run();
+			enable.run();
+		} else {
+			enable.run();
+			disable.run();
+		}
+	}
+
+	private void trim() {
+		int excess = lists.size() - Config.renderDisplayListCacheSize;
+		Iterator<Map.Entry<Key, Integer>> it = lists.entrySet().iterator();
+		while (excess-- > 0 && it.hasNext()) {
+			GLAllocation.deleteDisplayLists(it.next().getValue());
+			it.remove();
+		}
+	}
+
+	public void clear() {
+		for (int list : lists.values()) {
+			GLAllocation.deleteDisplayLists(list);
+		}
+		lists.clear();
+	}
+
+	@Override
+	public void onResourceManagerReload(@Nonnull IResourceManager resourceManager) {
+		clear();
+	}
+
+	private static final class Key {
+		private Item item;
+		private int meta;
+		@Nullable
+		private NBTTagCompound nbt;
+		private int nbtHash;
+		private RenderType type;
+		private boolean far;
+
+		Key set(ItemStack stack, RenderType type, boolean far) {
+			this.item = stack.getItem();
+			this.meta = stack.getMetadata();
+			this.nbt = stack.getTagCompound();
+			this.nbtHash = nbt == null ? 0 : nbt.hashCode();
+			this.type = type;
+			this.far = far;
+			return this;
+		}
+
+		// Stored keys keep their own tag, the lookup key only borrows the one of the stack
+		Key copyTag() {
+			if (nbt != null) {
+				nbt = nbt.copy();
+			}
+			return this;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			Key key = (Key) o;
+			return item == key.item && meta == key.meta && nbtHash == key.nbtHash && type == key.type && far == key.far
+					&& Objects.equals(nbt, key.nbt);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = item == null ? 0 : item.hashCode();
+			result = 31 * result + meta;
+			result = 31 * result + nbtHash;
+			result = 31 * result + type.hashCode();
+			return 31 * result + (far ? 1 : 0);
+		}
+	}
+}
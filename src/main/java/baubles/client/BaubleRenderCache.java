@@ -0,0 +1,75 @@
+package baubles.client;
+
+import baubles.api.cap.BaublesCapabilityManager;
+import baubles.api.cap.IBaubleStorage;
+import baubles.api.render.IRenderBauble;
+import baubles.api.render.IRenderBauble.RenderType;
+import baubles.common.event.BaubleEquipmentChangeEvent;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per player lists of the baubles to render, split by {@link RenderType} and sorted by {@link IRenderBauble#getRenderTexture}.
+ * A list is built the first time the player is rendered and dropped whenever a bauble slot of that player changes
+ * on the client, so rendering a frame only walks the renderable stacks instead of every slot.
+ * Only used from the client thread.
+ */
+public final class BaubleRenderCache {
+
+	private static final RenderType[] TYPES = RenderType.values();
+	// Groups baubles sharing a texture, the ones binding their own go last
+	private static final Comparator<ItemStack> BY_TEXTURE = Comparator.comparing(
+			stack -> ((IRenderBauble) stack.getItem()).getRenderTexture(stack), Comparator.nullsLast(Comparator.naturalOrder()));
+
+	private final Map<EntityPlayer, List<ItemStack>[]> renderLists = new WeakHashMap<>();
+
+	public List<ItemStack> getRenderList(EntityPlayer player, RenderType type) {
+		List<ItemStack>[] lists = renderLists.get(player);
+		if (lists == null) {
+			lists = build(player);
+			renderLists.put(player, lists);
+		}
+		return lists[type.ordinal()];
+	}
+
+	@SubscribeEvent
+	public void equipmentChanged(BaubleEquipmentChangeEvent event) {
+		if (event.getEntityLiving() instanceof EntityPlayer && event.getEntityLiving().world.isRemote) {
+			renderLists.remove(event.getEntityLiving());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<ItemStack>[] build(EntityPlayer player) {
+		List<ItemStack>[] lists = new List[TYPES.length];
+		IBaubleStorage inv = BaublesCapabilityManager.asBaublesPlayer(player).getBaubleStorage();
+
+		for (RenderType type : TYPES) {
+			List<ItemStack> list = null;
+			for (int i = 0; i < inv.getActualSize(); i++) {
+				ItemStack stack = inv.getStackInSlot(i);
+				if (!stack.isEmpty() && stack.getItem() instanceof IRenderBauble && ((IRenderBauble) stack.getItem()).shouldRender(stack, type)) {
+					if (list == null) {
+						list = new ArrayList<>();
+					}
+					list.add(stack);
+				}
+			}
+			if (list == null) {
+				lists[type.ordinal()] = Collections.emptyList();
+			} else {
+				list.sort(BY_TEXTURE);
+				lists[type.ordinal()] = list;
+			}
+		}
+		return lists;
+	}
+}
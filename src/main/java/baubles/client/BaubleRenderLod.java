@@ -0,0 +1,134 @@
+package baubles.client;
+
+import baubles.common.Config;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.ActiveRenderInfo;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Decides how much of the baubles of a player gets rendered, based on the distance to the camera
+ * and, if enabled, whether the player can be seen at all. Vanilla already skips players outside the view frustum,
+ * players hidden behind blocks are found by walking the blocks between the camera and the player, cached for a few ticks per player.
+ * Only opaque full cubes hide a player: vanilla still draws players behind glass, leaves, fences or slabs,
+ * so their baubles have to be drawn there as well.
+ * Only used from the client thread.
+ */
+public final class BaubleRenderLod {
+
+	// Ticks a visibility result is reused before tracing again
+	private static final int VISIBILITY_TICKS = 5;
+
+	private final Map<EntityPlayer, Visibility> visibility = new WeakHashMap<>();
+
+	public Detail getDetail(EntityPlayer player, float partialTicks) {
+		Entity viewer = Minecraft.getMinecraft().getRenderViewEntity();
+		if (viewer == null || viewer == player) {
+			return Detail.FULL;
+		}
+
+		double distanceSq = viewer.getDistanceSq(player);
+		if (Config.renderMaxDistance > 0 && distanceSq > Config.renderMaxDistance * Config.renderMaxDistance) {
+			return Detail.NONE;
+		}
+
+		if (Config.renderOcclusionCulling && !isVisible(viewer, player, partialTicks)) {
+			return Detail.NONE;
+		}
+
+		return Config.renderLodDistance > 0 && distanceSq > Config.renderLodDistance * Config.renderLodDistance ? Detail.FAR : Detail.FULL;
+	}
+
+	private boolean isVisible(Entity viewer, EntityPlayer player, float partialTicks) {
+		long tick = player.world.getTotalWorldTime();
+		Visibility cached = visibility.get(player);
+		if (cached == null) {
+			cached = new Visibility();
+			visibility.put(player, cached);
+		} else if (tick - cached.tick < VISIBILITY_TICKS && tick >= cached.tick) {
+			return cached.visible;
+		}
+
+		// The camera, which is behind or in front of the viewer's eyes in third person
+		Vec3d camera = ActiveRenderInfo.projectViewFromEntity(viewer, partialTicks);
+		cached.visible = canSee(player.world, camera, new Vec3d(player.posX, player.posY + player.getEyeHeight(), player.posZ))
+				|| canSee(player.world, camera, new Vec3d(player.posX, player.posY + player.height * 0.5, player.posZ));
+		cached.tick = tick;
+		return cached.visible;
+	}
+
+	/**
+	 * Walks every block the line from one point to the other passes through
+	 *
+	 * @return False if one of them is an opaque full cube
+	 */
+	private static boolean canSee(World world, Vec3d from, Vec3d to) {
+		int x = MathHelper.floor(from.x);
+		int y = MathHelper.floor(from.y);
+		int z = MathHelper.floor(from.z);
+		int endX = MathHelper.floor(to.x);
+		int endY = MathHelper.floor(to.y);
+		int endZ = MathHelper.floor(to.z);
+
+		// Progress along the line, 0 at the start and 1 at the end, at which the next block boundary of each axis is crossed
+		double dx = to.x - from.x;
+		double dy = to.y - from.y;
+		double dz = to.z - from.z;
+		int stepX = dx > 0 ? 1 : dx < 0 ? -1 : 0;
+		int stepY = dy > 0 ? 1 : dy < 0 ? -1 : 0;
+		int stepZ = dz > 0 ? 1 : dz < 0 ? -1 : 0;
+		double deltaX = stepX == 0 ? Double.MAX_VALUE : 1 / Math.abs(dx);
+		double deltaY = stepY == 0 ? Double.MAX_VALUE : 1 / Math.abs(dy);
+		double deltaZ = stepZ == 0 ? Double.MAX_VALUE : 1 / Math.abs(dz);
+		double nextX = stepX == 0 ? Double.MAX_VALUE : (stepX > 0 ? x + 1 - from.x : from.x - x) * deltaX;
+		double nextY = stepY == 0 ? Double.MAX_VALUE : (stepY > 0 ? y + 1 - from.y : from.y - y) * deltaY;
+		double nextZ = stepZ == 0 ? Double.MAX_VALUE : (stepZ > 0 ? z + 1 - from.z : from.z - z) * deltaZ;
+
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		while (x != endX || y != endY || z != endZ) {
+			if (nextX < nextY && nextX < nextZ) {
+				if (nextX > 1) break;
+				x += stepX;
+				nextX += deltaX;
+			} else if (nextY < nextZ) {
+				if (nextY > 1) break;
+				y += stepY;
+				nextY += deltaY;
+			} else {
+				if (nextZ > 1) break;
+				z += stepZ;
+				nextZ += deltaZ;
+			}
+
+			// The block of the target itself doesn't count, the player may be standing in a partial block
+			if ((x != endX || y != endY || z != endZ) && world.getBlockState(pos.setPos(x, y, z)).isOpaqueCube()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public enum Detail {
+		/**
+		 * Nothing is rendered
+		 */
+		NONE,
+		/**
+		 * {@link baubles.api.render.IRenderBauble#onPlayerBaubleRenderFar} is used
+		 */
+		FAR,
+		FULL
+	}
+
+	private static final class Visibility {
+		long tick;
+		boolean visible;
+	}
+}
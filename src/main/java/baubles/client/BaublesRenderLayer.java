@@ -10,32 +10,56 @@
  */
 package baubles.client;
 
-import baubles.api.cap.BaublesCapabilityManager;
-import baubles.api.cap.IBaubleStorage;
 import baubles.api.render.IRenderBauble;
 import baubles.api.render.IRenderBauble.RenderType;
 import baubles.common.Config;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.entity.layers.LayerRenderer;
+import net.minecraft.client.renderer.texture.TextureManager;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.MobEffects;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import org.lwjgl.opengl.GL11;
+import net.minecraft.util.ResourceLocation;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 
 public final class BaublesRenderLayer implements LayerRenderer<EntityPlayer> {
 
+	private final BaubleRenderCache renderCache;
+	private final BaubleRenderLod lod;
+	private final BaubleDisplayListCache displayLists;
+
+	public BaublesRenderLayer(BaubleRenderCache renderCache, BaubleRenderLod lod, BaubleDisplayListCache displayLists) {
+		this.renderCache = renderCache;
+		this.lod = lod;
+		this.displayLists = displayLists;
+	}
+
 	@Override
 	public void doRenderLayer(@Nonnull EntityPlayer player, float limbSwing, float limbSwingAmount, float partialTicks, float ageInTicks, float netHeadYaw, float headPitch, float scale) {
 		// TODO: fix rendering?
 		if (!Config.renderBaubles || player.getActivePotionEffect(MobEffects.INVISIBILITY) != null)
 			return;
 
-		IBaubleStorage inv = BaublesCapabilityManager.asBaublesPlayer(player).getBaubleStorage();
+		List<ItemStack> body = renderCache.getRenderList(player, RenderType.BODY);
+		List<ItemStack> head = renderCache.getRenderList(player, RenderType.HEAD);
+		if (body.isEmpty() && head.isEmpty())
+			return;
 
-		dispatchRenders(inv, player, RenderType.BODY, partialTicks);
+		BaubleRenderLod.Detail detail = lod.getDetail(player, partialTicks);
+		if (detail == BaubleRenderLod.Detail.NONE)
+			return;
+		boolean far = detail == BaubleRenderLod.Detail.FAR;
+
+		if (!body.isEmpty()) {
+			dispatchRenders(body, player, RenderType.BODY, partialTicks, far);
+		}
+
+		if (head.isEmpty()) {
+			return;
+		}
 
 		float yaw = player.prevRotationYawHead + (player.rotationYawHead - player.prevRotationYawHead) * partialTicks;
 		float yawOffset = player.prevRenderYawOffset + (player.renderYawOffset - player.prevRenderYawOffset) * partialTicks;
@@ -45,26 +69,63 @@ public final class BaublesRenderLayer implements LayerRenderer<EntityPlayer> {
 		GlStateManager.rotate(yawOffset, 0, -1, 0);
 		GlStateManager.rotate(yaw - 270, 0, 1, 0);
 		GlStateManager.rotate(pitch, 0, 0, 1);
-		dispatchRenders(inv, player, RenderType.HEAD, partialTicks);
+		dispatchRenders(head, player, RenderType.HEAD, partialTicks, far);
 		GlStateManager.popMatrix();
 	}
 
-	private void dispatchRenders(IBaubleStorage inv, EntityPlayer player, RenderType type, float partialTicks) {
-		for (int i = 0; i < inv.getActualSize(); i++) {
-			ItemStack stack = inv.getStackInSlot(i);
-			if (stack != null && !stack.isEmpty()) {
-				Item item = stack.getItem();
-				if (item instanceof IRenderBauble) {
+	/**
+	 * Sets the shared state once for the whole list, textures are only bound when they change
+	 * and the state is only restored after renders that are not state clean
+	 */
+	private void dispatchRenders(List<ItemStack> stacks, EntityPlayer player, RenderType type, float partialTicks, boolean far) {
+		TextureManager textureManager = Minecraft.getMinecraft().getTextureManager();
+		ResourceLocation bound = null;
+		GlStateManager.color(1F, 1F, 1F, 1F);
+
+		for (int i = 0; i < stacks.size(); i++) {
+			ItemStack stack = stacks.get(i);
+			if (stack.isEmpty()) {
+				continue;
+			}
+
+			IRenderBauble render = (IRenderBauble) stack.getItem();
+			ResourceLocation texture = render.getRenderTexture(stack);
+			if (texture != null && !texture.equals(bound)) {
+				textureManager.bindTexture(texture);
+				bound = texture;
+			}
+
+			if (displayLists.isEnabled() && render.isStaticRender(stack, type)) {
+				int list = displayLists.get(stack, type, far);
+				if (list != 0) {
+					displayLists.replay(list);
+				} else {
+					// Drawn normally the first time, which also compiles the lists of its ModelRenderers outside of ours
 					GlStateManager.pushMatrix();
-					GL11.glColor3ub((byte) 255, (byte) 255, (byte) 255);
-					GlStateManager.color(1F, 1F, 1F, 1F);
-					((IRenderBauble) stack.getItem()).onPlayerBaubleRender(stack, player, type, partialTicks);
+					render(render, stack, player, type, partialTicks, far);
 					GlStateManager.popMatrix();
+					displayLists.compile(stack, type, far, () -> render(render, stack, player, type, partialTicks, far));
 				}
+			} else if (render.isRenderStateClean(stack)) {
+				render(render, stack, player, type, partialTicks, far);
+			} else {
+				GlStateManager.pushMatrix();
+				render(render, stack, player, type, partialTicks, far);
+				GlStateManager.popMatrix();
+				GlStateManager.color(1F, 1F, 1F, 1F);
+				bound = null;
 			}
 		}
 	}
 
+	private static void render(IRenderBauble render, ItemStack stack, EntityPlayer player, RenderType type, float partialTicks, boolean far) {
+		if (far) {
+			render.onPlayerBaubleRenderFar(stack, player, type, partialTicks);
+		} else {
+			render.onPlayerBaubleRender(stack, player, type, partialTicks);
+		}
+	}
+
 	@Override
 	public boolean shouldCombineTextures() {
 		return false;
@@ -10,6 +10,7 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.WorldClient;
 import net.minecraft.client.renderer.entity.RenderPlayer;
 import net.minecraft.client.renderer.texture.TextureMap;
+import net.minecraft.client.resources.IReloadableResourceManager;
 import net.minecraft.client.settings.KeyBinding;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
@@ -27,6 +28,10 @@ public class ClientProxy extends CommonProxy {
 
 	public static final KeyBinding KEY_BAUBLES = new KeyBinding("keybind.baublesinventory", Keyboard.KEY_B, "key.categories.inventory");
 
+	private final BaubleRenderCache renderCache = new BaubleRenderCache();
+	private final BaubleRenderLod renderLod = new BaubleRenderLod();
+	private final BaubleDisplayListCache displayLists = new BaubleDisplayListCache();
+
 	@SubscribeEvent
 	public static void onTextureStitch(TextureStitchEvent.Pre evt) {
 		TextureMap map = evt.getMap();
@@ -46,6 +51,7 @@ public class ClientProxy extends CommonProxy {
 
 		MinecraftForge.EVENT_BUS.register(new ClientEventHandler());
 		MinecraftForge.EVENT_BUS.register(new GuiEvents());
+		MinecraftForge.EVENT_BUS.register(renderCache);
 	}
 
 	@Override
@@ -68,10 +74,11 @@ public class ClientProxy extends CommonProxy {
 		Map<String, RenderPlayer> skinMap = Minecraft.getMinecraft().getRenderManager().getSkinMap();
 		RenderPlayer render;
 		render = skinMap.get("default");
-		render.addLayer(new BaublesRenderLayer());
+		render.addLayer(new BaublesRenderLayer(renderCache, renderLod, displayLists));
 
 		render = skinMap.get("slim");
-		render.addLayer(new BaublesRenderLayer());
+		render.addLayer(new BaublesRenderLayer(renderCache, renderLod, displayLists));
+		((IReloadableResourceManager) Minecraft.getMinecraft().getResourceManager()).registerReloadListener(displayLists);
 
 
 		BaublesApi.registerIcon("amulet", new ResourceLocation(Baubles.MODID, "item/empty_amulet_slot"));
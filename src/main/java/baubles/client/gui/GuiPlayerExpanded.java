@@ -1,6 +1,6 @@
 package baubles.client.gui;
 
-import baubles.api.cap.BaublesCapabilityManager;
+import baubles.api.cap.BaubleStorage;
 import baubles.client.ClientProxy;
 import baubles.common.Baubles;
 import baubles.common.Config;
@@ -8,8 +8,13 @@ import baubles.common.container.ContainerPlayerExpanded;
 import net.minecraft.client.gui.GuiButton;
 import net.minecraft.client.gui.achievement.GuiStats;
 import net.minecraft.client.gui.inventory.GuiInventory;
+import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.InventoryEffectRenderer;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.shader.Framebuffer;
 import net.minecraft.client.resources.I18n;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
@@ -46,9 +51,25 @@ public class GuiPlayerExpanded extends InventoryEffectRenderer {
 
 	private boolean buttonClicked;
 
+	private final BaubleStorage storage;
+
+	// Change count of the storage the panel was laid out for
+	private int layoutChangeCount = -1;
+
+	private int slotCount;
+
+	// x, y, u, v, width and height of each quad of the slot panel, relative to the gui origin
+	private int[] panelQuads = new int[0];
+
+	// Player preview rendered at a reduced rate, see Config.guiEntityPreviewInterval
+	private Framebuffer preview;
+
+	private long previewTick = Long.MIN_VALUE;
+
 	public GuiPlayerExpanded(EntityPlayer player) {
 		super(new ContainerPlayerExpanded(player.inventory, !player.getEntityWorld().isRemote, player));
 		this.allowUserInput = true;
+		this.storage = ((ContainerPlayerExpanded) this.inventorySlots).baubles.getBaubleStorage();
 	}
 
 	private void resetGuiLeft() {
@@ -67,6 +88,16 @@ public class GuiPlayerExpanded extends InventoryEffectRenderer {
 			this.widthTooNarrow = this.width < 379;
 			this.guiLeft = (this.width - this.xSize) / 2;
 		}
+		this.previewTick = Long.MIN_VALUE;
+	}
+
+	@Override
+	public void onGuiClosed() {
+		super.onGuiClosed();
+		if (this.preview != null) {
+			this.preview.deleteFramebuffer();
+			this.preview = null;
+		}
 	}
 
 	private boolean inScrollBar(double mouseX, double mouseY) {
@@ -144,21 +175,114 @@ public class GuiPlayerExpanded extends InventoryEffectRenderer {
 			});*/
 		//}
 
-		int slotCount = BaublesCapabilityManager.asBaublesPlayer(mc.player).getBaubleStorage().getActualSize();
-		int upperHeight = 7 + slotCount * 18;
+		if (this.layoutChangeCount != this.storage.getChangeCount()) {
+			layoutPanel();
+		}
+
 		this.mc.getTextureManager().bindTexture(CURIO_INVENTORY);
-		this.drawTexturedModalRect(k - 26, l + 4, 0, 0, 27, upperHeight);
+		drawPanel(k, l);
 
-		if (slotCount <= 8) {
-			this.drawTexturedModalRect(k - 26, l + 4 + upperHeight, 0, 151, 27, 7);
-		} else {
-			this.drawTexturedModalRect(k - 42, l + 4, 27, 0, 23, 158);
+		if (this.slotCount > 8) {
 			this.mc.getTextureManager().bindTexture(CREATIVE_INVENTORY_TABS);
 			this.drawTexturedModalRect(k - 34, l + 12 + (int) (127f * this.currentScroll), 232, 0, 12, 15);
 		}
 
-		GuiInventory.drawEntityOnScreen(k + 51, l + 75, 30, (float) (k + 51) - this.oldMouseX, (float) (l + 75 - 50) - this.oldMouseY, this.mc.player);
+		drawEntityPreview(k, l);
+	}
+
+	/**
+	 * Works out the quads of the slot panel, only redone when the storage changed
+	 */
+	private void layoutPanel() {
+		this.layoutChangeCount = this.storage.getChangeCount();
+		this.slotCount = this.storage.getActualSize();
+
+		// The container shows at most 8 slots at once
+		int upperHeight = 7 + Math.min(this.slotCount, 8) * 18;
+		if (this.slotCount <= 8) {
+			this.panelQuads = new int[]{
+					-26, 4, 0, 0, 27, upperHeight,
+					-26, 4 + upperHeight, 0, 151, 27, 7
+			};
+		} else {
+			this.panelQuads = new int[]{
+					-26, 4, 0, 0, 27, upperHeight,
+					-42, 4, 27, 0, 23, 158
+			};
+		}
+	}
+
+	/**
+	 * Draws all quads of the slot panel in a single tessellator pass
+	 */
+	private void drawPanel(int x, int y) {
+		float f = 0.00390625F;
+		Tessellator tessellator = Tessellator.getInstance();
+		BufferBuilder buffer = tessellator.getBuffer();
+		buffer.begin(7, DefaultVertexFormats.POSITION_TEX);
+		for (int i = 0; i < this.panelQuads.length; i += 6) {
+			int qx = x + this.panelQuads[i];
+			int qy = y + this.panelQuads[i + 1];
+			int u = this.panelQuads[i + 2];
+			int v = this.panelQuads[i + 3];
+			int w = this.panelQuads[i + 4];
+			int h = this.panelQuads[i + 5];
+			buffer.pos(qx, qy + h, this.zLevel).tex(u * f, (v + h) * f).endVertex();
+			buffer.pos(qx + w, qy + h, this.zLevel).tex((u + w) * f, (v + h) * f).endVertex();
+			buffer.pos(qx + w, qy, this.zLevel).tex((u + w) * f, v * f).endVertex();
+			buffer.pos(qx, qy, this.zLevel).tex(u * f, v * f).endVertex();
+		}
+		tessellator.draw();
+	}
+
+	/**
+	 * Draws the player preview, either directly or from a framebuffer that is only redrawn every few ticks
+	 */
+	private void drawEntityPreview(int k, int l) {
+		int interval = Config.guiEntityPreviewInterval;
+		if (interval <= 0 || !OpenGlHelper.isFramebufferEnabled()) {
+			GuiInventory.drawEntityOnScreen(k + 51, l + 75, 30, (float) (k + 51) - this.oldMouseX, (float) (l + 75 - 50) - this.oldMouseY, this.mc.player);
+			return;
+		}
+
+		if (this.preview == null || this.preview.framebufferWidth != this.mc.displayWidth || this.preview.framebufferHeight != this.mc.displayHeight) {
+			if (this.preview != null) {
+				this.preview.deleteFramebuffer();
+			}
+			this.preview = new Framebuffer(this.mc.displayWidth, this.mc.displayHeight, true);
+			this.preview.setFramebufferColor(0.0F, 0.0F, 0.0F, 0.0F);
+			this.previewTick = Long.MIN_VALUE;
+		}
 
+		long tick = this.mc.world.getTotalWorldTime();
+		if (tick - this.previewTick >= interval || tick < this.previewTick) {
+			this.previewTick = tick;
+			this.preview.framebufferClear();
+			this.preview.bindFramebuffer(true);
+			GuiInventory.drawEntityOnScreen(k + 51, l + 75, 30, (float) (k + 51) - this.oldMouseX, (float) (l + 75 - 50) - this.oldMouseY, this.mc.player);
+			this.mc.getFramebuffer().bindFramebuffer(true);
+		}
+
+		// Copy the preview area of the framebuffer, its texture is upside down
+		int x0 = k + 26, y0 = l + 8, x1 = k + 77, y1 = l + 80;
+		float scaleX = (float) this.mc.displayWidth / this.width / this.preview.framebufferTextureWidth;
+		float scaleY = (float) this.mc.displayHeight / this.height / this.preview.framebufferTextureHeight;
+		float top = (float) this.preview.framebufferHeight / this.preview.framebufferTextureHeight;
+
+		GlStateManager.enableBlend();
+		GlStateManager.tryBlendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
+		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+		this.preview.bindFramebufferTexture();
+		Tessellator tessellator = Tessellator.getInstance();
+		BufferBuilder buffer = tessellator.getBuffer();
+		buffer.begin(7, DefaultVertexFormats.POSITION_TEX);
+		buffer.pos(x0, y1, this.zLevel).tex(x0 * scaleX, top - y1 * scaleY).endVertex();
+		buffer.pos(x1, y1, this.zLevel).tex(x1 * scaleX, top - y1 * scaleY).endVertex();
+		buffer.pos(x1, y0, this.zLevel).tex(x1 * scaleX, top - y0 * scaleY).endVertex();
+		buffer.pos(x0, y0, this.zLevel).tex(x0 * scaleX, top - y0 * scaleY).endVertex();
+		tessellator.draw();
+		this.preview.unbindFramebufferTexture();
+		GlStateManager.disableBlend();
 	}
 
 	@Override
@@ -1,7 +1,10 @@
 package baubles.common;
 
 import baubles.api.BaubleType;
+import baubles.api.BaubleTypeRegistry;
+import baubles.api.BaublesApi;
 import baubles.api.cap.BaublesCapabilityManager;
+import baubles.api.modcom.BaublesModCom;
 import baubles.common.event.CommandBaubles;
 import baubles.common.network.PacketHandler;
 import baubles.common.util.PacketPool;
@@ -13,13 +16,18 @@ import net.minecraftforge.fml.common.Mod.Instance;
 import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLInterModComms;
+import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppingEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 @Mod(
                 modid = Baubles.MODID,
@@ -130,7 +138,55 @@ public class Baubles {
                 event.registerServerCommand(new CommandBaubles());
         }
 
-        private void process(FMLInterModComms.IMCEvent evt) {
-                BaubleType.processBaubleTypes(evt.getMessages().stream(), evt.getMessages().stream());
+        @EventHandler
+        public void serverStopping(FMLServerStoppingEvent event) {
+                proxy.serverStopping();
+        }
+
+        /**
+         * Sorts the IMC messages by key in one pass, decodes only the bauble type messages
+         * and freezes the type registry and slot layout from them
+         */
+        @EventHandler
+        public void process(FMLInterModComms.IMCEvent evt) {
+                List<BaublesModCom> register = new ArrayList<>();
+                List<BaublesModCom> modify = new ArrayList<>();
+
+                for (FMLInterModComms.IMCMessage message : evt.getMessages()) {
+                        List<BaublesModCom> target;
+                        if (BaublesApi.IMC.REGISTER_TYPE.equals(message.key)) {
+                                target = register;
+                        } else if (BaublesApi.IMC.MODIFY_TYPE.equals(message.key)) {
+                                target = modify;
+                        } else {
+                                log.warn("Ignoring unknown IMC message {} from {}", message.key, message.getSender());
+                                continue;
+                        }
+
+                        BaublesModCom decoded = BaublesModCom.fromIMC(message);
+                        if (decoded == null) {
+                                log.warn("Ignoring malformed IMC message {} from {}", message.key, message.getSender());
+                        } else {
+                                target.add(decoded);
+                        }
+                }
+
+                BaubleTypeRegistry registry = BaubleType.processBaubleTypes(register, modify);
+                for (BaublesModCom message : modify) {
+                        if (registry.getId(message.getIdentifier().toLowerCase(Locale.ROOT)) < 0) {
+                                log.warn("Ignoring modification of unknown bauble type {}", message.getIdentifier());
+                        }
+                }
+                log.info("Registered {} bauble types over {} slots", registry.size(), registry.getLayout().getSlotCount());
+        }
+
+        /**
+         * Freezes the built-in types if no IMC stage ran before
+         */
+        @EventHandler
+        public void postInit(FMLPostInitializationEvent evt) {
+                if (!BaubleTypeRegistry.isFrozen()) {
+                        BaubleType.freeze(BaubleTypeRegistry.builder());
+                }
         }
 }
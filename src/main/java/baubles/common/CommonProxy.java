@@ -1,8 +1,10 @@
 package baubles.common;
 
 import baubles.common.container.ContainerPlayerExpanded;
+import baubles.common.event.BaubleEffectScheduler;
 import baubles.common.event.EventHandlerEntity;
 import baubles.common.event.EventHandlerItem;
+import baubles.common.event.ParallelWornTickHandler;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
@@ -27,11 +29,20 @@ public class CommonProxy implements IGuiHandler {
 		return null;
 	}
 
+	private ParallelWornTickHandler parallelWornTick;
+
 	public void registerEventHandlers() {
-		MinecraftForge.EVENT_BUS.register(new EventHandlerEntity());
+		parallelWornTick = new ParallelWornTickHandler();
+		MinecraftForge.EVENT_BUS.register(parallelWornTick);
+		MinecraftForge.EVENT_BUS.register(new EventHandlerEntity(parallelWornTick));
 		MinecraftForge.EVENT_BUS.register(new EventHandlerItem());
+		MinecraftForge.EVENT_BUS.register(new BaubleEffectScheduler());
 	}
 
 	public void init() {
 	}
+
+	public void serverStopping() {
+		parallelWornTick.shutdown();
+	}
 }
@@ -1,5 +1,6 @@
 package baubles.common;
 
+import baubles.common.util.DeathPolicies;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.config.Configuration;
 import net.minecraftforge.fml.client.event.ConfigChangedEvent;
@@ -11,8 +12,18 @@ public class Config {
 
         public static Configuration config;
         public static boolean renderBaubles = true;
+        public static int renderMaxDistance = 64;
+        public static int renderLodDistance = 24;
+        public static boolean renderOcclusionCulling = false;
+        public static int renderDisplayListCacheSize = 256;
         public static boolean useCurioGUI = true;
+        public static int guiEntityPreviewInterval = 0;
         public static boolean debug = false;
+        public static boolean parallelWornTick = true;
+        public static int parallelWornTickThreads = 0;
+        public static String deathPolicy = "drop";
+        public static String[] deathPolicyTypes = new String[0];
+        public static String[] deathPolicyItems = new String[0];
 
         public static void initialize(File file) {
                 config = new Configuration(file);
@@ -27,12 +38,46 @@ public class Config {
                 String renderBaublesDesc = "Set this to false to disable rendering of baubles on the player.";
                 renderBaubles = config.getBoolean("baubleRender.enabled", Configuration.CATEGORY_CLIENT, renderBaubles, renderBaublesDesc);
 
+                String renderMaxDistanceDesc = "Baubles of players further away than this many blocks are not rendered. 0 renders them at any distance.";
+                renderMaxDistance = config.getInt("baubleRender.maxDistance", Configuration.CATEGORY_CLIENT, renderMaxDistance, 0, 512, renderMaxDistanceDesc);
+
+                String renderLodDistanceDesc = "Baubles of players further away than this many blocks use their cheaper far render, if they have one. 0 always uses the full render.";
+                renderLodDistance = config.getInt("baubleRender.lodDistance", Configuration.CATEGORY_CLIENT, renderLodDistance, 0, 512, renderLodDistanceDesc);
+
+                String renderOcclusionCullingDesc = "Set to true to skip the baubles of players hidden from the camera behind opaque full blocks.";
+                renderOcclusionCulling = config.getBoolean("baubleRender.occlusionCulling", Configuration.CATEGORY_CLIENT, renderOcclusionCulling, renderOcclusionCullingDesc);
+
+                String renderDisplayListCacheSizeDesc = "Maximum number of compiled display lists kept for static bauble renders, the least recently used are deleted first. 0 disables the cache.";
+                renderDisplayListCacheSize = config.getInt("baubleRender.displayListCacheSize", Configuration.CATEGORY_CLIENT, renderDisplayListCacheSize, 0, 4096, renderDisplayListCacheSizeDesc);
+
                 String useCurioGUIDesc = "Set to false to disable the Curios GUI/Backport features(AKA disables the scrollable gui that allows wearing more then 7 trinkets)";
                 useCurioGUI = config.getBoolean("curiosGUI.enabled", Configuration.CATEGORY_CLIENT, useCurioGUI, useCurioGUIDesc);
+
+                String guiEntityPreviewIntervalDesc = "Redraw the player preview of the baubles inventory only every this many ticks and reuse the last image in between. 0 redraws it every frame.";
+                guiEntityPreviewInterval = config.getInt("curiosGUI.entityPreviewInterval", Configuration.CATEGORY_CLIENT, guiEntityPreviewInterval, 0, 20, guiEntityPreviewIntervalDesc);
                 
                 String debugDesc = "Set to true to enable debug mode with performance statistics tracking. This may slightly impact performance but provides valuable information.";
                 debug = config.getBoolean("debug.enabled", Configuration.CATEGORY_GENERAL, debug, debugDesc);
 
+                String parallelWornTickDesc = "Set to false to run the worn tick of baubles flagged as parallel-safe on the main thread like every other bauble.";
+                parallelWornTick = config.getBoolean("parallelWornTick.enabled", Configuration.CATEGORY_GENERAL, parallelWornTick, parallelWornTickDesc);
+
+                String parallelWornTickThreadsDesc = "Number of worker threads for parallel-safe worn ticks. 0 uses one less than the number of available processors. Requires a restart.";
+                parallelWornTickThreads = config.getInt("parallelWornTick.threads", Configuration.CATEGORY_GENERAL, parallelWornTickThreads, 0, 64, parallelWornTickThreadsDesc);
+
+                String[] deathPolicies = {"keep", "drop", "destroy", "grave"};
+
+                String deathPolicyDesc = "What happens to worn baubles when a player dies and the keepInventory game rule is off: keep, drop, destroy, or grave to move them to the grave store, from where /baubles grave gives them back.";
+                deathPolicy = config.getString("deathPolicy.default", Configuration.CATEGORY_GENERAL, deathPolicy, deathPolicyDesc, deathPolicies);
+
+                String deathPolicyTypesDesc = "Death policies by bauble type, overriding the default, one <type>=<policy> per line, like amulet=keep.";
+                deathPolicyTypes = config.getStringList("deathPolicy.types", Configuration.CATEGORY_GENERAL, deathPolicyTypes, deathPolicyTypesDesc);
+
+                String deathPolicyItemsDesc = "Death policies by item, overriding the type and what the item asks for itself, one <item id>=<policy> per line, like minecraft:totem_of_undying=destroy.";
+                deathPolicyItems = config.getStringList("deathPolicy.items", Configuration.CATEGORY_GENERAL, deathPolicyItems, deathPolicyItemsDesc);
+
+                DeathPolicies.invalidate();
+
                 if (config.hasChanged()) config.save();
         }
 
@@ -1,5 +1,7 @@
 package baubles.common.container;
 
+import baubles.api.BaubleSlotLayout;
+import baubles.api.BaubleTypeRegistry;
 import baubles.api.BaublesApi;
 import baubles.api.IBauble;
 import baubles.api.cap.BaublesCapabilityManager;
@@ -247,7 +249,8 @@ public class ContainerPlayerExpanded extends Container {
 				// inv -> bauble
 				else if (itemstack.hasCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null)) {
 					IBauble bauble = itemstack.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null);
-					for (int baubleSlot : bauble.getBaubleType(itemstack).getValidSlots()) {
+					int typeId = BaubleTypeRegistry.get().getId(bauble.getTypeIdentifier(itemstack));
+					for (int baubleSlot : BaubleSlotLayout.get().getValidSlots(typeId)) {
 						if (bauble.canEquip(itemstack1, thePlayer) && !this.inventorySlots.get(baubleSlot + 9).getHasStack() &&
 								!this.mergeItemStack(itemstack1, baubleSlot + 9, baubleSlot + 10, false)) {
 							return ItemStack.EMPTY;
@@ -276,13 +279,6 @@ public class ContainerPlayerExpanded extends Container {
 					return ItemStack.EMPTY;
 				}
 
-				//if (itemstack1.isEmpty() && !baubles.isEventBlocked() && slot instanceof SlotBauble &&
-				if (itemstack1.isEmpty() && slot instanceof BaubleSlot &&
-						itemstack.hasCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null)) {
-
-					itemstack.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null).onUnequipped(itemstack, playerIn);
-				}
-
 				ItemStack itemstack2 = slot.onTake(playerIn, itemstack1);
 
 				if (index == 0) {
@@ -0,0 +1,140 @@
+package baubles.common.event;
+
+import baubles.api.IBauble;
+import baubles.api.cap.BaubleStorage;
+import baubles.api.cap.BaublesCapabilityManager;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.potion.Potion;
+import net.minecraft.potion.PotionEffect;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the potion effects declared through {@link IBauble#getWornEffects} on the players wearing them.
+ * The wanted effects are collected once per change of the equipped baubles, and an effect is only applied
+ * again when it is missing, weaker or about to run out, so no effect packet is sent while it is still active.
+ * After a change, effects this scheduler applied that are no longer wanted are removed on the next tick,
+ * so taking a bauble off doesn't leave the rest of a long effect behind.
+ */
+public class BaubleEffectScheduler {
+        // How often the effects of a player are checked, players are spread over these ticks by entity id
+        private static final int CHECK_INTERVAL = 10;
+        // Effects are refreshed once less than this many ticks are left, which always leaves a check before they run out
+        private static final int REFRESH_THRESHOLD = CHECK_INTERVAL * 2;
+
+        private final Map<UUID, Tracked> players = new HashMap<>();
+
+        @SubscribeEvent
+        public void playerTick(TickEvent.PlayerTickEvent event) {
+                if (event.phase != TickEvent.Phase.END || event.side != Side.SERVER) {
+                        return;
+                }
+
+                EntityPlayer player = event.player;
+                Tracked tracked = players.computeIfAbsent(player.getUniqueID(), k -> new Tracked());
+                // A change is handled right away, otherwise players are only checked every few ticks
+                if (tracked.wanted == null) {
+                        tracked.wanted = collectEffects(player);
+                        removeUnwanted(player, tracked);
+                } else if ((player.ticksExisted + player.getEntityId()) % CHECK_INTERVAL != 0) {
+                        return;
+                }
+
+                for (PotionEffect effect : tracked.wanted.values()) {
+                        PotionEffect active = player.getActivePotionEffect(effect.getPotion());
+                        if (active == null || active.getAmplifier() < effect.getAmplifier()
+                                        || (active.getAmplifier() == effect.getAmplifier() && active.getDuration() < REFRESH_THRESHOLD)) {
+                                player.addPotionEffect(new PotionEffect(effect));
+                                tracked.applied.put(effect.getPotion(), effect);
+                        }
+                }
+        }
+
+        /**
+         * Removes the effects applied for baubles that are no longer wanted, as long as the active effect
+         * still is the applied one and not one the player got from somewhere else since
+         */
+        private static void removeUnwanted(EntityPlayer player, Tracked tracked) {
+                Iterator<PotionEffect> it = tracked.applied.values().iterator();
+                while (it.hasNext()) {
+                        PotionEffect applied = it.next();
+                        PotionEffect wanted = tracked.wanted.get(applied.getPotion());
+                        if (wanted != null && matches(wanted, applied)) {
+                                continue;
+                        }
+
+                        PotionEffect active = player.getActivePotionEffect(applied.getPotion());
+                        if (active != null && matches(active, applied)) {
+                                player.removePotionEffect(applied.getPotion());
+                        }
+                        it.remove();
+                }
+        }
+
+        private static boolean matches(PotionEffect a, PotionEffect b) {
+                return a.getPotion() == b.getPotion() && a.getAmplifier() == b.getAmplifier() && a.getIsAmbient() == b.getIsAmbient();
+        }
+
+        @SubscribeEvent
+        public void equipmentChanged(BaubleEquipmentChangeEvent event) {
+                if (event.getEntityLiving() instanceof EntityPlayer && !event.getEntityLiving().world.isRemote) {
+                        Tracked tracked = players.get(event.getEntityLiving().getUniqueID());
+                        if (tracked != null) {
+                                tracked.wanted = null;
+                        }
+                }
+        }
+
+        @SubscribeEvent
+        public void playerClone(PlayerEvent.Clone event) {
+                players.remove(event.getEntityPlayer().getUniqueID());
+        }
+
+        @SubscribeEvent
+        public void playerLoggedOut(PlayerLoggedOutEvent event) {
+                players.remove(event.player.getUniqueID());
+        }
+
+        /**
+         * Merges the effects of all equipped baubles, keeping the strongest and then longest effect of each potion
+         */
+        private static Map<Potion, PotionEffect> collectEffects(EntityPlayer player) {
+                Map<Potion, PotionEffect> effects = null;
+                BaubleStorage baubles = BaublesCapabilityManager.asBaublesPlayer(player).getBaubleStorage();
+
+                for (int i = 0; i < baubles.getActualSize(); i++) {
+                        ItemStack stack = baubles.getStackInSlot(i);
+                        IBauble bauble = stack.isEmpty() ? null : stack.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null);
+                        if (bauble == null) {
+                                continue;
+                        }
+
+                        for (PotionEffect effect : bauble.getWornEffects(stack, player)) {
+                                if (effects == null) {
+                                        effects = new HashMap<>();
+                                }
+                                effects.merge(effect.getPotion(), effect, (a, b) -> b.getAmplifier() > a.getAmplifier()
+                                                || (b.getAmplifier() == a.getAmplifier() && b.getDuration() > a.getDuration()) ? b : a);
+                        }
+                }
+
+                return effects == null ? Collections.emptyMap() : effects;
+        }
+
+        private static final class Tracked {
+                // The effects of the equipped baubles, null after a change until they are collected again
+                Map<Potion, PotionEffect> wanted;
+                // The effects this scheduler applied, by potion
+                final Map<Potion, PotionEffect> applied = new HashMap<>();
+        }
+}
@@ -6,6 +6,12 @@ import net.minecraftforge.event.entity.living.LivingEvent;
 
 import javax.annotation.Nonnull;
 
+/**
+ * Posted on {@link net.minecraftforge.common.MinecraftForge#EVENT_BUS} whenever the stack in a bauble slot changes,
+ * no matter if it was changed through a container, a command, right-click equipping, death drops or a sync from the server.
+ * On the server it is posted right after the {@link baubles.api.IBauble} equip callbacks, so listeners can keep
+ * caches of the equipped baubles up to date instead of scanning the slots every tick.
+ */
 public class BaubleEquipmentChangeEvent extends LivingEvent {
 	private final int slot;
 	private final ItemStack from;
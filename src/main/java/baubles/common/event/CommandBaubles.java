@@ -4,19 +4,35 @@ import baubles.api.BaubleType;
 import baubles.api.IBauble;
 import baubles.api.cap.BaublesCapabilityManager;
 import baubles.api.cap.IBaubleStorage;
+import baubles.common.Baubles;
+import baubles.common.util.BaubleGraves;
+import baubles.common.util.BaubleIndex;
+import com.mojang.authlib.GameProfile;
 import net.minecraft.command.CommandBase;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.Item;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextComponentTranslation;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
 
 public class CommandBaubles extends CommandBase {
+	// The most players listed by /baubles find
+	private static final int MAX_LISTED = 50;
+
 	private List<String> aliases;
+	private BaubleIndex index;
 
 	public CommandBaubles() {
 		this.aliases = new ArrayList<String>();
@@ -51,12 +67,18 @@ public class CommandBaubles extends CommandBase {
 
 	@Override
 	public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
-		if (args.length < 2 || args[0].equalsIgnoreCase("help")) {
+		if (args.length >= 2 && args[0].equalsIgnoreCase("find")) {
+			find(server, sender, args[1]);
+		} else if (args.length < 2 || args[0].equalsIgnoreCase("help")) {
 			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.one"));
 			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.two"));
 			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.three"));
 			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.four"));
 			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.five"));
+			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.six"));
+			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.seven"));
+			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.eight"));
+			sender.sendMessage(new TextComponentTranslation("\u00a73" + "help.message.nine"));
 		} else if (args.length >= 2) {
 			EntityPlayerMP entityplayermp = getPlayer(server, sender, args[1]);
 
@@ -100,6 +122,15 @@ public class CommandBaubles extends CommandBase {
 					sender.sendMessage(new TextComponentTranslation("\u00a73Cleared all baubles slots for " + entityplayermp.getName()));
 					entityplayermp.sendMessage(new TextComponentTranslation("\u00a74All your baubles slots have been cleared by admin " + sender.getName()));
 				}
+			} else if (args[0].equalsIgnoreCase("grave")) {
+				List<ItemStack> stacks = BaubleGraves.get(entityplayermp.world).take(entityplayermp.getUniqueID());
+				for (ItemStack stack : stacks) {
+					baubles.addItem(stack);
+				}
+				sender.sendMessage(new TextComponentTranslation("\u00a73Returned " + stacks.size() + " baubles from the grave of " + entityplayermp.getName()));
+				if (!stacks.isEmpty()) {
+					entityplayermp.sendMessage(new TextComponentTranslation("\u00a73The baubles you lost on death have been returned by admin " + sender.getName()));
+				}
 			} else {
 				sender.sendMessage(new TextComponentTranslation("\u00a7c" + "message.invalid_arguments"));
 				sender.sendMessage(new TextComponentTranslation("\u00a7c" + "message.use_help_command"));
@@ -110,4 +141,88 @@ public class CommandBaubles extends CommandBase {
 			sender.sendMessage(new TextComponentTranslation("\u00a7c" + "message.use_help_command"));
 		}
 	}
+
+	/**
+	 * Lists the players that have an item in their bauble slots.
+	 * Online players are checked live, offline players through the {@link BaubleIndex} of their saved files,
+	 * which is refreshed on a background thread first so the server doesn't stall on large worlds.
+	 */
+	private void find(MinecraftServer server, ICommandSender sender, String item) {
+		ResourceLocation id = new ResourceLocation(item);
+		if (!Item.REGISTRY.containsKey(id)) {
+			sender.sendMessage(new TextComponentString("\u00a7cUnknown item " + item));
+			return;
+		}
+		String itemId = id.toString();
+
+		Set<String> online = new TreeSet<>();
+		Set<UUID> onlineIds = new HashSet<>();
+		for (EntityPlayerMP player : server.getPlayerList().getPlayers()) {
+			onlineIds.add(player.getUniqueID());
+			IBaubleStorage baubles = BaublesCapabilityManager.asBaublesPlayer(player).getBaubleStorage();
+			for (int a = 0; a < baubles.getActualSize(); a++) {
+				ItemStack st = baubles.getStackInSlot(a);
+				if (!st.isEmpty() && id.equals(st.getItem().getRegistryName())) {
+					online.add(player.getName());
+					break;
+				}
+			}
+		}
+
+		if (index == null) {
+			index = new BaubleIndex(server.getEntityWorld().getSaveHandler().getWorldDirectory());
+		}
+		BaubleIndex index = this.index;
+		if (index.isRefreshing()) {
+			sender.sendMessage(new TextComponentString("\u00a7cThe bauble index is being refreshed, try again shortly"));
+			return;
+		}
+
+		sender.sendMessage(new TextComponentString("\u00a73Searching saved baubles for " + itemId + "..."));
+		Thread thread = new Thread(() -> {
+			String failure = null;
+			try {
+				index.refresh(Runtime.getRuntime().availableProcessors());
+			} catch (IOException e) {
+				Baubles.log.warn("Could not refresh the bauble index", e);
+				failure = e.toString();
+			}
+			String error = failure;
+			server.addScheduledTask(() -> {
+				if (error != null) {
+					sender.sendMessage(new TextComponentString("\u00a7cCould not refresh the bauble index: " + error));
+				}
+				Set<String> offline = new TreeSet<>();
+				for (UUID uuid : index.find(itemId)) {
+					if (!onlineIds.contains(uuid)) {
+						GameProfile profile = server.getPlayerProfileCache().getProfileByUUID(uuid);
+						offline.add(profile != null ? profile.getName() : uuid.toString());
+					}
+				}
+				sender.sendMessage(new TextComponentString("\u00a73Online players with " + itemId + ": " + list(online)));
+				sender.sendMessage(new TextComponentString("\u00a73Offline players with " + itemId + ": " + list(offline)));
+			});
+		}, "Baubles Index Refresh");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private static String list(Set<String> names) {
+		if (names.isEmpty()) {
+			return "none";
+		}
+		StringBuilder builder = new StringBuilder();
+		int listed = 0;
+		for (String name : names) {
+			if (listed == MAX_LISTED) {
+				builder.append(", and ").append(names.size() - listed).append(" more");
+				break;
+			}
+			if (listed++ > 0) {
+				builder.append(", ");
+			}
+			builder.append(name);
+		}
+		return builder.toString();
+	}
 }
@@ -1,11 +1,15 @@
 package baubles.common.event;
 
 import baubles.api.BaublesApi;
+import baubles.api.DeathPolicy;
 import baubles.api.IBauble;
 import baubles.api.cap.BaubleStorage;
 import baubles.api.cap.BaublesCapabilityManager;
+import baubles.common.Config;
 import baubles.common.network.PacketHandler;
 import baubles.common.network.PacketSync;
+import baubles.common.util.BaubleGraves;
+import baubles.common.util.DeathPolicies;
 import baubles.common.util.PacketPool;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityItem;
@@ -28,6 +32,11 @@ import java.util.*;
 public class EventHandlerEntity {
 
         private HashMap<UUID, ItemStack[]> baublesSync = new HashMap<UUID, ItemStack[]>();
+        private final ParallelWornTickHandler parallelWornTick;
+
+        public EventHandlerEntity(ParallelWornTickHandler parallelWornTick) {
+                this.parallelWornTick = parallelWornTick;
+        }
 
         @SubscribeEvent
         public void playerJoin(EntityJoinWorldEvent event) {
@@ -57,11 +66,16 @@ public class EventHandlerEntity {
                 if (event.phase == TickEvent.Phase.END) {
                         EntityPlayer player = event.player;
                         BaubleStorage baubles = BaublesCapabilityManager.asBaublesPlayer(player).getBaubleStorage();
+                        boolean parallel = Config.parallelWornTick && !player.world.isRemote;
                         for (int i = 0; i < baubles.getActualSize(); i++) {
                                 ItemStack stack = baubles.getStackInSlot(i);
                                 IBauble bauble = stack.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null);
                                 if (bauble != null) {
-                                        bauble.onWornTick(stack, player);
+                                        if (parallel && bauble.isWornTickParallelSafe(stack)) {
+                                                parallelWornTick.enqueue(player, stack, bauble);
+                                        } else {
+                                                bauble.onWornTick(stack, player);
+                                        }
                                 }
                         }
                         if (!player.world.isRemote) {
@@ -184,28 +198,64 @@ public class EventHandlerEntity {
                 // No need to explicitly recycle the packet here as it's done in the Handler when processing is complete
         }
 
+        /**
+         * Applies the {@link DeathPolicy} of every worn bauble, unless the keepInventory game rule keeps them all.
+         * Everything not kept is taken out in one pass; what stays is carried over to the respawned player.
+         */
         @SubscribeEvent
         public void playerDeath(PlayerDropsEvent event) {
-                if (event.getEntity() instanceof EntityPlayer
-                                && !event.getEntity().world.isRemote
-                                && !event.getEntity().world.getGameRules().getBoolean("keepInventory")) {
-                        dropItemsAt(event.getEntityPlayer(), event.getDrops(), event.getEntityPlayer());
+                EntityPlayer player = event.getEntityPlayer();
+                if (player.world.isRemote || player.world.getGameRules().getBoolean("keepInventory")) {
+                        return;
                 }
+
+                BaubleStorage baubles = BaublesCapabilityManager.asBaublesPlayer(player).getBaubleStorage();
+                DeathPolicies rules = DeathPolicies.get();
+                Map<ItemStack, DeathPolicy> policies = new IdentityHashMap<>();
+                List<ItemStack> taken = baubles.drain(stack -> {
+                        DeathPolicy policy = rules.getPolicy(stack);
+                        if (policy == DeathPolicy.KEEP) {
+                                return false;
+                        }
+                        policies.put(stack, policy);
+                        return true;
+                });
+
+                List<ItemStack> dropped = new ArrayList<>(taken.size());
+                List<ItemStack> buried = new ArrayList<>();
+                for (ItemStack stack : taken) {
+                        DeathPolicy policy = policies.get(stack);
+                        if (policy == DeathPolicy.DROP) {
+                                dropped.add(stack);
+                        } else if (policy == DeathPolicy.GRAVE) {
+                                buried.add(stack);
+                        }
+                }
+                dropItems(dropped, event.getDrops(), player);
+                BaubleGraves.get(player.world).add(player.getUniqueID(), buried);
         }
 
         /**
-         * Optimized version of dropItemsAt that improves performance during player death
-         * - Reduces redundant calls to getStackInSlot
-         * - Uses more efficient random generation
-         * - Pre-calculates constants
-         * 
+         * Drops all baubles of a player, emptying the storage in one pass
+         * instead of removing slot by slot, which shifted every later stack each time.
+         *
          * @param player The player who died
          * @param drops The list to add dropped items to
          * @param e The entity location where items should drop
          */
         public void dropItemsAt(EntityPlayer player, List<EntityItem> drops, Entity e) {
                 BaubleStorage baubles = BaublesCapabilityManager.asBaublesPlayer(player).getBaubleStorage();
-                
+                dropItems(baubles.drainAll(), drops, e);
+        }
+
+        /**
+         * Turns stacks taken out of a storage into item entities around an entity
+         *
+         * @param stacks The stacks to drop, which the entities take over without copying
+         * @param drops The list to add dropped items to
+         * @param e The entity location where items should drop
+         */
+        private void dropItems(List<ItemStack> stacks, List<EntityItem> drops, Entity e) {
                 // Pre-calculate drop position values
                 double posX = e.posX;
                 double posY = e.posY + e.getEyeHeight();
@@ -220,39 +270,23 @@ public class EventHandlerEntity {
                 // Random generator
                 Random rand = e.world.rand;
                 
-                // Process each slot that might contain baubles
-                for (int i = baubles.getSize(); i >= 0; --i) {
-                        // Get the item stack just once
-                        ItemStack stack = baubles.getStackInSlot(i);
+                for (ItemStack stack : stacks) {
+                        EntityItem ei = new EntityItem(e.world, posX, posY, posZ, stack);
                         
-                        if (!stack.isEmpty()) {
-                                // Create entity item with a copy of the stack
-                                EntityItem ei = new EntityItem(
-                                        e.world,
-                                        posX, 
-                                        posY, 
-                                        posZ,
-                                        stack.copy()
-                                );
-                                
-                                // Set pickup delay
-                                ei.setPickupDelay(PICKUP_DELAY);
-                                
-                                // Calculate motion with pre-calculated constants
-                                float magnitude = rand.nextFloat() * 0.5F;
-                                float angle = rand.nextFloat() * (float) Math.PI * 2.0F;
-                                
-                                // Set motion components
-                                ei.motionX = -MathHelper.sin(angle) * magnitude;
-                                ei.motionZ = MathHelper.cos(angle) * magnitude;
-                                ei.motionY = UPWARD_VELOCITY;
-                                
-                                // Add to drops list
-                                drops.add(ei);
-                                
-                                // Remove from storage
-                                baubles.removeItemFromSlot(i);
-                        }
+                        // Set pickup delay
+                        ei.setPickupDelay(PICKUP_DELAY);
+                        
+                        // Calculate motion with pre-calculated constants
+                        float magnitude = rand.nextFloat() * 0.5F;
+                        float angle = rand.nextFloat() * (float) Math.PI * 2.0F;
+                        
+                        // Set motion components
+                        ei.motionX = -MathHelper.sin(angle) * magnitude;
+                        ei.motionZ = MathHelper.cos(angle) * magnitude;
+                        ei.motionY = UPWARD_VELOCITY;
+                        
+                        // Add to drops list
+                        drops.add(ei);
                 }
         }
 
@@ -0,0 +1,138 @@
+package baubles.common.event;
+
+import baubles.api.IBauble;
+import baubles.api.cap.BaubleStorage;
+import baubles.api.cap.BaublesCapabilityManager;
+import baubles.common.Baubles;
+import baubles.common.Config;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the worn tick of baubles flagged with {@link IBauble#isWornTickParallelSafe} on a worker pool.
+ * Work is collected while the players tick, which happens after the world ticks when the connections are updated,
+ * computed in parallel at the end of the server tick and the results are applied on the main thread once every
+ * computation has finished. A result is dropped if its wearer died, changed worlds or took the bauble off meanwhile.
+ */
+public class ParallelWornTickHandler {
+        private ForkJoinPool pool;
+
+        private final List<Job> pending = new ArrayList<>();
+
+        private ForkJoinPool getPool() {
+                if (pool == null) {
+                        int threads = Config.parallelWornTickThreads > 0 ? Config.parallelWornTickThreads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+                        pool = new ForkJoinPool(threads, p -> {
+                                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                                thread.setName("Baubles Worn Tick #" + thread.getPoolIndex());
+                                return thread;
+                        }, null, false);
+                }
+                return pool;
+        }
+
+        /**
+         * Defers the worn tick of a parallel-safe bauble to the end of the current server tick
+         */
+        public void enqueue(EntityPlayer wearer, ItemStack stack, IBauble bauble) {
+                pending.add(new Job(wearer, stack, bauble));
+        }
+
+        @SubscribeEvent
+        public void serverTick(TickEvent.ServerTickEvent event) {
+                if (event.phase != TickEvent.Phase.END || pending.isEmpty()) {
+                        return;
+                }
+
+                List<Job> jobs = new ArrayList<>(pending);
+                pending.clear();
+
+                // A single job isn't worth the hand-off to the pool
+                if (jobs.size() == 1) {
+                        Job job = jobs.get(0);
+                        try {
+                                job.apply(job.call());
+                        } catch (Exception e) {
+                                Baubles.log.error("Parallel worn tick failed", e);
+                        }
+                        return;
+                }
+
+                // invokeAll is the barrier: nothing is applied until every job has been computed
+                List<Future<Runnable>> results = getPool().invokeAll(jobs);
+                for (int i = 0; i < results.size(); i++) {
+                        try {
+                                jobs.get(i).apply(results.get(i).get());
+                        } catch (ExecutionException e) {
+                                Baubles.log.error("Parallel worn tick failed", e.getCause());
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return;
+                        }
+                }
+        }
+
+        @SubscribeEvent
+        public void worldUnload(WorldEvent.Unload event) {
+                pending.removeIf(job -> job.world == event.getWorld());
+        }
+
+        /**
+         * Drops the queued work and stops the worker pool when the server stops, a later server starts a new one
+         */
+        public void shutdown() {
+                pending.clear();
+                if (pool != null) {
+                        pool.shutdown();
+                        pool = null;
+                }
+        }
+
+        private static final class Job implements Callable<Runnable> {
+                private final EntityPlayer wearer;
+                private final World world;
+                private final ItemStack stack;
+                private final IBauble bauble;
+
+                Job(EntityPlayer wearer, ItemStack stack, IBauble bauble) {
+                        this.wearer = wearer;
+                        this.world = wearer.world;
+                        this.stack = stack;
+                        this.bauble = bauble;
+                }
+
+                @Override
+                public Runnable call() {
+                        return bauble.computeWornTick(stack, wearer);
+                }
+
+                // Runs the result unless the wearer died, left the world or no longer wears the stack, also through an earlier result
+                void apply(Runnable result) {
+                        if (result != null && wearer.isEntityAlive() && wearer.world == world && isWorn()) {
+                                result.run();
+                        }
+                }
+
+                private boolean isWorn() {
+                        BaubleStorage baubles = BaublesCapabilityManager.asBaublesPlayer(wearer).getBaubleStorage();
+                        for (int i = 0; i < baubles.getActualSize(); i++) {
+                                if (baubles.getStackInSlot(i) == stack) {
+                                        return true;
+                                }
+                        }
+                        return false;
+                }
+        }
+}
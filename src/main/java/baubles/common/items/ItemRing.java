@@ -24,6 +24,8 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.registry.GameRegistry;
 
 import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Collections;
 
 @Mod.EventBusSubscriber
 public class ItemRing extends Item implements IBauble {
@@ -69,7 +71,6 @@ public class ItemRing extends Item implements IBauble {
 					if (!player.capabilities.isCreativeMode) {
 						player.inventory.setInventorySlotContents(player.inventory.currentItem, ItemStack.EMPTY);
 					}
-					onEquipped(player.getHeldItem(hand), player);
 					break;
 				}
 		}
@@ -77,10 +78,11 @@ public class ItemRing extends Item implements IBauble {
 	}
 
 	@Override
-	public void onWornTick(ItemStack itemstack, EntityLivingBase player) {
-		if (itemstack.getItemDamage() == 0 && player.ticksExisted % 39 == 0) {
-			player.addPotionEffect(new PotionEffect(MobEffects.HASTE, 40, 0, true, true));
+	public Collection<PotionEffect> getWornEffects(ItemStack itemstack, EntityLivingBase player) {
+		if (itemstack.getItemDamage() == 0) {
+			return Collections.singletonList(new PotionEffect(MobEffects.HASTE, 200, 0, true, true));
 		}
+		return Collections.emptyList();
 	}
 
 	@Override
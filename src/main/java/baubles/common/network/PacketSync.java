@@ -148,7 +148,7 @@ public class PacketSync implements IMessage {
                                         if (p instanceof EntityPlayer) {
                                                 BaublesCapabilityManager.asBaublesPlayer((EntityPlayer) p)
                                                         .getBaubleStorage()
-                                                        .setStackInSlot(message.slot, message.bauble);
+                                                        .syncStackInSlot(message.slot, message.bauble);
                                         }
                                         /*else if (p instanceof EntityLivingBase) {
                                                 // TODO: might not work cuz old code
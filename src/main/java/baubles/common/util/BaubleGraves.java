@@ -0,0 +1,104 @@
+package baubles.common.util;
+
+import baubles.common.Baubles;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+import net.minecraftforge.common.util.Constants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Baubles taken from dead players under the {@link baubles.api.DeathPolicy#GRAVE} policy, kept per player
+ * in {@code data/baubles_graves.dat} until an operator hands them back with {@code /baubles grave}.
+ * One store is shared by all dimensions.
+ */
+public class BaubleGraves extends WorldSavedData {
+    private static final String NAME = Baubles.MODID + "_graves";
+
+    private final Map<UUID, List<ItemStack>> graves = new HashMap<>();
+
+    public BaubleGraves(String name) {
+        super(name);
+    }
+
+    public static BaubleGraves get(World world) {
+        MapStorage storage = world.getMapStorage();
+        BaubleGraves graves = (BaubleGraves) storage.getOrLoadData(BaubleGraves.class, NAME);
+        if (graves == null) {
+            graves = new BaubleGraves(NAME);
+            storage.setData(NAME, graves);
+        }
+        return graves;
+    }
+
+    /**
+     * Adds stacks to the grave of a player, the store takes ownership of them
+     */
+    public void add(UUID player, Collection<ItemStack> stacks) {
+        if (stacks.isEmpty()) {
+            return;
+        }
+        graves.computeIfAbsent(player, k -> new ArrayList<>()).addAll(stacks);
+        markDirty();
+    }
+
+    /**
+     * Empties the grave of a player
+     * @return The stacks it held, owned by the caller
+     */
+    public List<ItemStack> take(UUID player) {
+        List<ItemStack> stacks = graves.remove(player);
+        if (stacks == null) {
+            return Collections.emptyList();
+        }
+        markDirty();
+        return stacks;
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound nbt) {
+        graves.clear();
+        NBTTagList list = nbt.getTagList("Graves", Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < list.tagCount(); i++) {
+            NBTTagCompound grave = list.getCompoundTagAt(i);
+            NBTTagList items = grave.getTagList("Items", Constants.NBT.TAG_COMPOUND);
+            List<ItemStack> stacks = new ArrayList<>(items.tagCount());
+            for (int j = 0; j < items.tagCount(); j++) {
+                ItemStack stack = new ItemStack(items.getCompoundTagAt(j));
+                if (!stack.isEmpty()) {
+                    stacks.add(stack);
+                }
+            }
+            if (!stacks.isEmpty()) {
+                graves.put(grave.getUniqueId("Player"), stacks);
+            }
+        }
+    }
+
+    @Override
+    public NBTTagCompound writeToNBT(NBTTagCompound compound) {
+        NBTTagList list = new NBTTagList();
+        for (Map.Entry<UUID, List<ItemStack>> entry : graves.entrySet()) {
+            NBTTagCompound grave = new NBTTagCompound();
+            grave.setUniqueId("Player", entry.getKey());
+            NBTTagList items = new NBTTagList();
+            for (ItemStack stack : entry.getValue()) {
+                items.appendTag(stack.writeToNBT(new NBTTagCompound()));
+            }
+            grave.setTag("Items", items);
+            list.appendTag(grave);
+        }
+        compound.setTag("Graves", list);
+        return compound;
+    }
+}
@@ -0,0 +1,271 @@
+package baubles.common.util;
+
+import baubles.common.Baubles;
+import net.minecraftforge.common.util.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Inverted index of which players have an item in their bauble slots, built from the saved player files
+ * so it also covers players who are offline.
+ * <p>
+ * {@link #refresh} only rescans player files whose modification time changed since the last run, reading
+ * them in parallel and decoding nothing but the bauble capability. The index is kept on disk as the item to
+ * players postings plus the modification time of every scanned file, so a restart doesn't rescan the world.
+ * Queries read an immutable copy published after each refresh and never wait for one.
+ */
+public class BaubleIndex {
+    private static final int MAGIC = 0x42494458; // "BIDX"
+    private static final int VERSION = 1;
+
+    private final File playerDataDir;
+    private final File indexFile;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // Only touched by the thread running a refresh
+    private final Map<UUID, Long> modified = new HashMap<>();
+    private final Map<UUID, Set<String>> itemsByPlayer = new HashMap<>();
+    private boolean loaded;
+
+    private volatile Map<String, Set<UUID>> owners = Collections.emptyMap();
+
+    public BaubleIndex(File worldDir) {
+        this.playerDataDir = new File(worldDir, "playerdata");
+        this.indexFile = new File(new File(worldDir, "data"), "baubles_index.bin");
+    }
+
+    /**
+     * @return The players whose saved baubles contained the item at the last refresh
+     */
+    public Set<UUID> find(String itemId) {
+        Set<UUID> players = owners.get(itemId);
+        return players == null ? Collections.<UUID>emptySet() : players;
+    }
+
+    public boolean isRefreshing() {
+        return refreshing.get();
+    }
+
+    /**
+     * Rescans changed player files and saves the index, blocks until done
+     * @param threads The number of threads reading player files
+     * @return The number of rescanned files, or -1 if another refresh is already running
+     */
+    public int refresh(int threads) throws IOException {
+        if (!refreshing.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            if (!loaded) {
+                load();
+                loaded = true;
+            }
+
+            File[] files = playerDataDir.listFiles((dir, name) -> name.endsWith(".dat"));
+            if (files == null) {
+                files = new File[0];
+            }
+
+            Set<UUID> present = new HashSet<>();
+            List<File> changed = new ArrayList<>();
+            List<UUID> changedIds = new ArrayList<>();
+            List<Long> changedTimes = new ArrayList<>();
+            for (File file : files) {
+                UUID uuid = uuidOf(file);
+                if (uuid == null) {
+                    continue;
+                }
+                present.add(uuid);
+                // Taken before reading, a save during the scan changes it again and is picked up next time
+                long lastModified = file.lastModified();
+                Long known = modified.get(uuid);
+                if (known == null || known != lastModified) {
+                    changed.add(file);
+                    changedIds.add(uuid);
+                    changedTimes.add(lastModified);
+                }
+            }
+
+            boolean dirty = modified.keySet().retainAll(present);
+            itemsByPlayer.keySet().retainAll(present);
+            if (!changed.isEmpty()) {
+                scan(changed, changedIds, changedTimes, threads);
+                dirty = true;
+            }
+            if (dirty || !indexFile.exists()) {
+                publish();
+                save();
+            }
+            return changed.size();
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void scan(List<File> files, List<UUID> ids, List<Long> times, int threads) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, files.size())), r -> {
+            Thread thread = new Thread(r, "Baubles Index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Set<String>>> results = new ArrayList<>(files.size());
+            for (File file : files) {
+                results.add(executor.submit(() -> readItems(file)));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                UUID uuid = ids.get(i);
+                try {
+                    Set<String> items = results.get(i).get();
+                    if (items.isEmpty()) {
+                        itemsByPlayer.remove(uuid);
+                    } else {
+                        itemsByPlayer.put(uuid, items);
+                    }
+                    modified.put(uuid, times.get(i));
+                } catch (ExecutionException e) {
+                    Baubles.log.warn("Could not index baubles of player file {}: {}", files.get(i).getName(), e.getCause().toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while indexing baubles", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the item ids in the bauble slots of a player file
+     */
+    static Set<String> readItems(File file) throws IOException {
+        Set<String> items = new HashSet<>();
+        try (NBTSkipReader reader = NBTSkipReader.open(file)) {
+            if (!reader.enterBaubleStorage() || !reader.find("Items", Constants.NBT.TAG_LIST)) {
+                return items;
+            }
+
+            byte elementType = reader.readByte();
+            int length = reader.readInt();
+            for (int i = 0; i < length; i++) {
+                if (elementType != Constants.NBT.TAG_COMPOUND) {
+                    reader.skip(elementType);
+                    continue;
+                }
+                byte type;
+                while ((type = reader.nextType()) != Constants.NBT.TAG_END) {
+                    String name = reader.readName();
+                    if (type == Constants.NBT.TAG_STRING && name.equals("id")) {
+                        items.add(reader.readString());
+                    } else {
+                        reader.skip(type);
+                    }
+                }
+            }
+        }
+        items.remove("minecraft:air");
+        return items;
+    }
+
+    private void publish() {
+        Map<String, Set<UUID>> owners = new HashMap<>();
+        for (Map.Entry<UUID, Set<String>> entry : itemsByPlayer.entrySet()) {
+            for (String item : entry.getValue()) {
+                owners.computeIfAbsent(item, k -> new HashSet<>()).add(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, Set<UUID>> entry : owners.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+        this.owners = Collections.unmodifiableMap(owners);
+    }
+
+    private void load() {
+        if (!indexFile.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                Baubles.log.info("Rebuilding bauble index of an older format");
+                return;
+            }
+            int players = in.readInt();
+            for (int i = 0; i < players; i++) {
+                modified.put(new UUID(in.readLong(), in.readLong()), in.readLong());
+            }
+            int items = in.readInt();
+            for (int i = 0; i < items; i++) {
+                String item = in.readUTF();
+                int count = in.readInt();
+                for (int j = 0; j < count; j++) {
+                    itemsByPlayer.computeIfAbsent(new UUID(in.readLong(), in.readLong()), k -> new HashSet<>()).add(item);
+                }
+            }
+        } catch (IOException e) {
+            Baubles.log.warn("Could not read the bauble index, rebuilding it", e);
+            modified.clear();
+            itemsByPlayer.clear();
+        }
+        publish();
+    }
+
+    private void save() throws IOException {
+        File dir = indexFile.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        File tmp = new File(dir, indexFile.getName() + ".tmp");
+        Map<String, Set<UUID>> owners = this.owners;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(modified.size());
+            for (Map.Entry<UUID, Long> entry : modified.entrySet()) {
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeLong(entry.getValue());
+            }
+            out.writeInt(owners.size());
+            for (Map.Entry<String, Set<UUID>> entry : owners.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (UUID uuid : entry.getValue()) {
+                    out.writeLong(uuid.getMostSignificantBits());
+                    out.writeLong(uuid.getLeastSignificantBits());
+                }
+            }
+        }
+        Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static UUID uuidOf(File file) {
+        String name = file.getName();
+        try {
+            return UUID.fromString(name.substring(0, name.length() - ".dat".length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
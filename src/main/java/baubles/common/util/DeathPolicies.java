@@ -0,0 +1,127 @@
+package baubles.common.util;
+
+import baubles.api.BaubleTypeRegistry;
+import baubles.api.DeathPolicy;
+import baubles.api.IBauble;
+import baubles.api.cap.BaublesCapabilityManager;
+import baubles.common.Baubles;
+import baubles.common.Config;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The configured {@link DeathPolicy} rules, parsed once into tables instead of matching strings on every death:
+ * an array indexed by the {@link BaubleTypeRegistry} id of each type and a map from item to policy.
+ * Built on first use, after the registry is frozen and every item is registered, and again after the config changes.
+ * <p>
+ * A stack is looked up by its item first, then asked through {@link IBauble#getDeathPolicy}, then by its type.
+ */
+public final class DeathPolicies {
+    private static volatile DeathPolicies current;
+
+    private final DeathPolicy fallback;
+    private final DeathPolicy[] byType;
+    private final Map<Item, DeathPolicy> byItem;
+
+    private DeathPolicies(DeathPolicy fallback, DeathPolicy[] byType, Map<Item, DeathPolicy> byItem) {
+        this.fallback = fallback;
+        this.byType = byType;
+        this.byItem = byItem;
+    }
+
+    /**
+     * @return The tables of the current config
+     */
+    public static DeathPolicies get() {
+        DeathPolicies policies = current;
+        if (policies == null) {
+            policies = build();
+            current = policies;
+        }
+        return policies;
+    }
+
+    /**
+     * Drops the tables, so the next {@link #get()} parses the config again
+     */
+    public static void invalidate() {
+        current = null;
+    }
+
+    public DeathPolicy getPolicy(ItemStack stack) {
+        DeathPolicy policy = byItem.get(stack.getItem());
+        if (policy != null) {
+            return policy;
+        }
+
+        IBauble bauble = stack.getCapability(BaublesCapabilityManager.CAPABILITY_ITEM_BAUBLE, null);
+        if (bauble == null) {
+            return fallback;
+        }
+        policy = bauble.getDeathPolicy(stack);
+        if (policy != null) {
+            return policy;
+        }
+        int id = BaubleTypeRegistry.get().getId(bauble.getTypeIdentifier(stack));
+        return id >= 0 && id < byType.length ? byType[id] : fallback;
+    }
+
+    private static DeathPolicies build() {
+        DeathPolicy fallback = DeathPolicy.byName(Config.deathPolicy);
+        if (fallback == null) {
+            Baubles.log.warn("Unknown default death policy {}, dropping baubles instead", Config.deathPolicy);
+            fallback = DeathPolicy.DROP;
+        }
+
+        BaubleTypeRegistry registry = BaubleTypeRegistry.get();
+        DeathPolicy[] byType = new DeathPolicy[registry.size()];
+        Arrays.fill(byType, fallback);
+        for (String line : Config.deathPolicyTypes) {
+            String[] rule = parse(line);
+            if (rule == null) {
+                continue;
+            }
+            int id = registry.getId(rule[0]);
+            DeathPolicy policy = DeathPolicy.byName(rule[1]);
+            if (id < 0 || policy == null) {
+                Baubles.log.warn("Ignoring death policy {}, unknown type or policy", line);
+            } else {
+                byType[id] = policy;
+            }
+        }
+
+        Map<Item, DeathPolicy> byItem = new IdentityHashMap<>();
+        for (String line : Config.deathPolicyItems) {
+            String[] rule = parse(line);
+            if (rule == null) {
+                continue;
+            }
+            Item item = Item.REGISTRY.getObject(new ResourceLocation(rule[0]));
+            DeathPolicy policy = DeathPolicy.byName(rule[1]);
+            if (item == null || policy == null) {
+                Baubles.log.warn("Ignoring death policy {}, unknown item or policy", line);
+            } else {
+                byItem.put(item, policy);
+            }
+        }
+        return new DeathPolicies(fallback, byType, byItem);
+    }
+
+    // Splits <key>=<policy>, null for blank or malformed lines
+    private static String[] parse(String line) {
+        int split = line.lastIndexOf('=');
+        if (split <= 0) {
+            if (!line.trim().isEmpty()) {
+                Baubles.log.warn("Ignoring malformed death policy {}, expected <key>=<policy>", line);
+            }
+            return null;
+        }
+        return new String[]{line.substring(0, split).trim().toLowerCase(Locale.ROOT), line.substring(split + 1).trim()};
+    }
+}
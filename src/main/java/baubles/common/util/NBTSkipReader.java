@@ -0,0 +1,257 @@
+package baubles.common.util;
+
+import baubles.api.cap.BaublePlayer;
+import baubles.api.cap.BaubleStorage;
+import baubles.api.cap.BaublesCapabilityManager;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTSizeTracker;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.common.util.Constants;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads binary NBT front to back without building tags.
+ * Callers descend into the compounds they need with {@link #find}, everything else is skipped unread,
+ * so pulling one subtree out of a large player file costs a fraction of {@code CompressedStreamTools.readCompressed}.
+ * {@link #readBaubleStorage(File)} uses it to load the baubles of a saved player without parsing the rest of the player.
+ */
+public class NBTSkipReader implements Closeable {
+    private static final int MAX_DEPTH = 512;
+    // NBTTagLongArray, not named in every Forge build of Constants.NBT
+    private static final int TAG_LONG_ARRAY = 12;
+    // Header of an unnamed compound, put in front of a compound payload so vanilla can parse it as a root tag
+    private static final byte[] COMPOUND_HEADER = {Constants.NBT.TAG_COMPOUND, 0, 0};
+
+    private final DataInputStream in;
+    private final byte[] skipBuffer = new byte[4096];
+
+    public NBTSkipReader(InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    /**
+     * Opens a compressed NBT file, like the files in {@code playerdata}
+     */
+    public static NBTSkipReader open(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            return new NBTSkipReader(new BufferedInputStream(new GZIPInputStream(in, 8192), 8192));
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads only the bauble storage tag of a saved player
+     * @return The tag as written by {@link BaubleStorage#serializeNBT()}, or null if the player has no bauble data
+     */
+    @Nullable
+    public static NBTTagCompound readBaubleStorageTag(File playerFile) throws IOException {
+        try (NBTSkipReader reader = open(playerFile)) {
+            return reader.enterBaubleStorage() ? reader.readCompound() : null;
+        }
+    }
+
+    /**
+     * Loads the baubles of a saved player into a detached storage, for tools that work on saved players
+     * @return The storage, or null if the player has no bauble data
+     */
+    @Nullable
+    public static BaubleStorage readBaubleStorage(File playerFile) throws IOException {
+        NBTTagCompound tag = readBaubleStorageTag(playerFile);
+        if (tag == null) {
+            return null;
+        }
+        BaubleStorage storage = new BaubleStorage();
+        storage.deserializeNBT(tag);
+        return storage;
+    }
+
+    /**
+     * Reads the header of the root tag
+     * @return True if the root is a compound, positioned at its first child
+     */
+    public boolean enterRoot() throws IOException {
+        if (in.readByte() != Constants.NBT.TAG_COMPOUND) {
+            return false;
+        }
+        skipFully(in.readUnsignedShort());
+        return true;
+    }
+
+    /**
+     * Skips the children of the current compound up to the one with the given name and type
+     * @return True if found, positioned at its payload; false if the compound ended, which is then consumed
+     */
+    public boolean find(String name, int type) throws IOException {
+        byte childType;
+        while ((childType = in.readByte()) != Constants.NBT.TAG_END) {
+            String childName = in.readUTF();
+            if (childType == type && childName.equals(name)) {
+                return true;
+            }
+            skip(childType);
+        }
+        return false;
+    }
+
+    /**
+     * Descends from the start of a player file to the bauble storage,
+     * {@code ForgeCaps} then {@code baubles:baubles_player} then {@code bauble_storage}
+     * @return True if the player has bauble data, positioned at the payload of the storage compound
+     */
+    public boolean enterBaubleStorage() throws IOException {
+        return enterRoot()
+                && find("ForgeCaps", Constants.NBT.TAG_COMPOUND)
+                && find(BaublesCapabilityManager.BAUBLE_PLAYER_CAP.toString(), Constants.NBT.TAG_COMPOUND)
+                && find(BaublePlayer.STORAGE_TAG, Constants.NBT.TAG_COMPOUND);
+    }
+
+    /**
+     * Parses the compound whose payload starts at the current position, the only tags this reader builds
+     */
+    public NBTTagCompound readCompound() throws IOException {
+        // DataInputStream doesn't read ahead, so the stream ends up right behind the compound
+        InputStream payload = new SequenceInputStream(new ByteArrayInputStream(COMPOUND_HEADER), in);
+        return CompressedStreamTools.read(new DataInputStream(payload), NBTSizeTracker.INFINITE);
+    }
+
+    /**
+     * @return The type of the next child of the current compound, {@code TAG_END} once it is finished
+     */
+    public byte nextType() throws IOException {
+        return in.readByte();
+    }
+
+    public String readName() throws IOException {
+        return in.readUTF();
+    }
+
+    public String readString() throws IOException {
+        return in.readUTF();
+    }
+
+    public byte readByte() throws IOException {
+        return in.readByte();
+    }
+
+    public int readInt() throws IOException {
+        return in.readInt();
+    }
+
+    /**
+     * Reads a payload of any numeric type
+     */
+    public long readNumber(int type) throws IOException {
+        switch (type) {
+            case Constants.NBT.TAG_BYTE:
+                return in.readByte();
+            case Constants.NBT.TAG_SHORT:
+                return in.readShort();
+            case Constants.NBT.TAG_INT:
+                return in.readInt();
+            case Constants.NBT.TAG_LONG:
+                return in.readLong();
+            case Constants.NBT.TAG_FLOAT:
+                return (long) in.readFloat();
+            case Constants.NBT.TAG_DOUBLE:
+                return (long) in.readDouble();
+            default:
+                skip(type);
+                return 0;
+        }
+    }
+
+    /**
+     * Skips a payload
+     */
+    public void skip(int type) throws IOException {
+        skip(type, 0);
+    }
+
+    private void skip(int type, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("NBT nested too deep");
+        }
+        switch (type) {
+            case Constants.NBT.TAG_BYTE:
+                skipFully(1);
+                break;
+            case Constants.NBT.TAG_SHORT:
+                skipFully(2);
+                break;
+            case Constants.NBT.TAG_INT:
+            case Constants.NBT.TAG_FLOAT:
+                skipFully(4);
+                break;
+            case Constants.NBT.TAG_LONG:
+            case Constants.NBT.TAG_DOUBLE:
+                skipFully(8);
+                break;
+            case Constants.NBT.TAG_BYTE_ARRAY:
+                skipFully(length());
+                break;
+            case Constants.NBT.TAG_INT_ARRAY:
+                skipFully(length() * 4L);
+                break;
+            case TAG_LONG_ARRAY:
+                skipFully(length() * 8L);
+                break;
+            case Constants.NBT.TAG_STRING:
+                skipFully(in.readUnsignedShort());
+                break;
+            case Constants.NBT.TAG_LIST: {
+                byte elementType = in.readByte();
+                int length = length();
+                for (int i = 0; i < length; i++) {
+                    skip(elementType, depth + 1);
+                }
+                break;
+            }
+            case Constants.NBT.TAG_COMPOUND: {
+                byte childType;
+                while ((childType = in.readByte()) != Constants.NBT.TAG_END) {
+                    skipFully(in.readUnsignedShort());
+                    skip(childType, depth + 1);
+                }
+                break;
+            }
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private int length() throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT length " + length);
+        }
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // InputStream.skip may skip less, or nothing at all on inflating streams, so skipped bytes are read
+    private void skipFully(long length) throws IOException {
+        while (length > 0) {
+            int chunk = (int) Math.min(length, skipBuffer.length);
+            in.readFully(skipBuffer, 0, chunk);
+            length -= chunk;
+        }
+    }
+}
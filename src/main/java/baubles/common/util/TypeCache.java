@@ -1,12 +1,12 @@
 package baubles.common.util;
 
+import baubles.api.BaubleSlotLayout;
 import baubles.api.BaubleType;
 import baubles.api.IBauble;
 import baubles.api.cap.BaublesCapabilityManager;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 
-import java.util.EnumMap;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,10 +21,6 @@ public class TypeCache {
     // Using WeakHashMap to avoid memory leaks when items are unloaded
     private static final Map<Item, BaubleType> ITEM_TYPE_CACHE = new WeakHashMap<>(128);
     
-    // Cache for checking which slots a bauble type can go into
-    // Using EnumMap for efficient enum-based lookups
-    private static final Map<BaubleType, boolean[]> SLOT_VALIDITY_CACHE = new EnumMap<>(BaubleType.class);
-    
     // Cache for non-baubles to avoid repeated capability lookups that will always fail
     // Using WeakHashMap to avoid memory leaks
     private static final Map<Item, Boolean> NON_BAUBLE_CACHE = new WeakHashMap<>(128);
@@ -34,13 +30,6 @@ public class TypeCache {
     private static int cacheHits = 0;
     private static int cacheMisses = 0;
     
-    static {
-        // Pre-populate the slot validity cache for all bauble types
-        for (BaubleType type : BaubleType.values()) {
-            SLOT_VALIDITY_CACHE.put(type, createValidityArray(type));
-        }
-    }
-    
     /**
      * Get the bauble type for an item stack, using cache when possible
      * 
@@ -93,41 +82,25 @@ public class TypeCache {
     
     /**
      * Check if a bauble type is valid for a specific slot
-     * Uses pre-computed validity arrays for improved performance
+     * Uses the precomputed tables of the current slot layout, so IMC types are covered too
      * 
      * @param type The bauble type
      * @param slot The slot index
      * @return True if the type is valid for the slot
      */
     public static boolean isValidTypeForSlot(BaubleType type, int slot) {
-        if (type == null) {
-            return false;
-        }
-        
-        boolean[] validityArray = SLOT_VALIDITY_CACHE.get(type);
-        return slot >= 0 && slot < validityArray.length && validityArray[slot];
+        return type != null && BaubleSlotLayout.get().isValid(type.getNumericId(), slot);
     }
     
     /**
-     * Create a pre-computed validity array for a bauble type
+     * Check if a registered type is valid for a specific slot
      * 
-     * @param type The bauble type
-     * @return Array where index=slot and value=valid
+     * @param typeId The registry id of the type
+     * @param slot The slot index
+     * @return True if the type is valid for the slot
      */
-    private static boolean[] createValidityArray(BaubleType type) {
-        // Find max slot to determine array size
-        int maxSlot = 0;
-        for (int slot : type.getValidSlots()) {
-            maxSlot = Math.max(maxSlot, slot);
-        }
-        
-        // Create and populate the array
-        boolean[] validityArray = new boolean[maxSlot + 1];
-        for (int slot : type.getValidSlots()) {
-            validityArray[slot] = true;
-        }
-        
-        return validityArray;
+    public static boolean isValidTypeForSlot(int typeId, int slot) {
+        return BaubleSlotLayout.get().isValid(typeId, slot);
     }
     
     /**
@@ -6,14 +6,28 @@ import com.seventodie.commands.BaublesCommand;
 import com.seventodie.listeners.InventoryListener;
 import com.seventodie.listeners.PlayerListener;
 import com.seventodie.manager.BaubleManager;
+import com.seventodie.manager.WornTickEngine;
+import com.seventodie.storage.BaubleStorageBackend;
+import com.seventodie.storage.FileStorageBackend;
+import com.seventodie.storage.PlayerDataStore;
 import com.seventodie.util.Config;
+import com.seventodie.util.TaskScheduler;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
 public final class SevenToDie extends JavaPlugin {
 
     private static SevenToDie instance;
     private BaubleManager baubleManager;
+    private PlayerDataStore dataStore;
     private Config config;
+    private TaskScheduler scheduler;
+    private WornTickEngine wornTickEngine;
 
     @Override
     public void onEnable() {
@@ -22,9 +36,43 @@ public final class SevenToDie extends JavaPlugin {
         // Initialize configuration
         saveDefaultConfig();
         config = new Config(this);
+        scheduler = new TaskScheduler(this);
+        
+        // Initialize bauble data storage
+        BaubleStorageBackend backend;
+        try {
+            backend = createStorageBackend();
+        } catch (IOException e) {
+            getLogger().log(Level.SEVERE, "Could not open the bauble data storage, disabling", e);
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+        dataStore = new PlayerDataStore(backend, getLogger());
         
         // Initialize the bauble manager
-        baubleManager = new BaubleManager(this);
+        baubleManager = new BaubleManager(this, dataStore);
+        wornTickEngine = new WornTickEngine(baubleManager, config, scheduler, getLogger());
+        
+        // Players already online after a reload missed the login, load them in the background
+        // and hand the result to the thread owning each player
+        for (Player player : getServer().getOnlinePlayers()) {
+            UUID uuid = player.getUniqueId();
+            dataStore.load(uuid).whenComplete((stored, error) -> scheduler.runFor(player, () -> {
+                if (error != null) {
+                    getLogger().log(Level.SEVERE, "Could not load bauble data of " + player.getName(), error);
+                } else if (player.isOnline()) {
+                    baubleManager.loadPlayer(uuid, stored);
+                    wornTickEngine.start(player);
+                }
+            }));
+        }
+        
+        // Periodically write the baubles of players that changed in the background,
+        // collecting the snapshots only reads thread safe state so no region thread is needed
+        long flushSeconds = config.getFlushIntervalSeconds();
+        if (flushSeconds > 0) {
+            scheduler.runAsyncAtFixedRate(baubleManager::saveAllPlayerData, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+        }
         
         // Register listeners
         getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
@@ -39,10 +87,20 @@ public final class SevenToDie extends JavaPlugin {
 
     @Override
     public void onDisable() {
-        // Save player data if needed
+        if (wornTickEngine != null) {
+            wornTickEngine.stopAll();
+        }
+        if (scheduler != null) {
+            scheduler.cancelAll();
+        }
+        
+        // Save changed player data and wait at most the configured time for it to be written
         if (baubleManager != null) {
             baubleManager.saveAllPlayerData();
         }
+        if (dataStore != null) {
+            dataStore.shutdown(config.getShutdownTimeoutSeconds(), TimeUnit.SECONDS);
+        }
         
         getLogger().info("SevenToDie plugin has been disabled!");
     }
@@ -63,6 +121,43 @@ public final class SevenToDie extends JavaPlugin {
         return baubleManager;
     }
     
+    /**
+     * Get the scheduler for work on players, the global region and storage
+     * @return The task scheduler
+     */
+    public TaskScheduler getTaskScheduler() {
+        return scheduler;
+    }
+    
+    /**
+     * Get the engine ticking equipped baubles
+     * @return The worn tick engine
+     */
+    public WornTickEngine getWornTickEngine() {
+        return wornTickEngine;
+    }
+    
+    /**
+     * Get the bauble data store
+     * @return The data store
+     */
+    public PlayerDataStore getDataStore() {
+        return dataStore;
+    }
+    
+    /**
+     * Create the configured storage backend
+     * @return The backend
+     * @throws IOException If the storage could not be opened
+     */
+    private BaubleStorageBackend createStorageBackend() throws IOException {
+        String backend = config.getStorageBackend();
+        if (!"file".equalsIgnoreCase(backend)) {
+            getLogger().warning("Unknown storage backend '" + backend + "', using file storage");
+        }
+        return new FileStorageBackend(getDataFolder().toPath().resolve("playerdata"));
+    }
+    
     /**
      * Get the plugin config handler
      * @return The config handler
@@ -0,0 +1,103 @@
+package com.seventodie.api;
+
+import org.bukkit.attribute.Attribute;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The bonuses a player currently gets from their equipped baubles: attribute amounts summed over all baubles
+ * and the flags any of them set. Profiles are immutable and computed when the baubles change, so listeners on
+ * hot paths can read them without looking at any slot or item.
+ */
+public final class BonusProfile {
+    /**
+     * The profile of a player without bonuses
+     */
+    public static final BonusProfile EMPTY = new BonusProfile(Map.of(), Set.of());
+
+    private final Map<Attribute, Double> attributes;
+    private final Set<String> flags;
+
+    private BonusProfile(Map<Attribute, Double> attributes, Set<String> flags) {
+        this.attributes = attributes;
+        this.flags = flags;
+    }
+
+    /**
+     * Get the summed bonus of an attribute
+     * @param attribute The attribute
+     * @return The bonus, 0 if no bauble adds to it
+     */
+    public double getAttribute(Attribute attribute) {
+        Double amount = attributes.get(attribute);
+        return amount == null ? 0 : amount;
+    }
+
+    /**
+     * Get all attribute bonuses
+     * @return An unmodifiable map of the attributes with a bonus
+     */
+    public Map<Attribute, Double> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Check if any equipped bauble sets a flag
+     * @param flag The flag, as declared by the bauble handlers
+     * @return True if the flag is set
+     */
+    public boolean hasFlag(String flag) {
+        return flags.contains(flag);
+    }
+
+    /**
+     * Get all set flags
+     * @return An unmodifiable set of the flags
+     */
+    public Set<String> getFlags() {
+        return flags;
+    }
+
+    public boolean isEmpty() {
+        return attributes.isEmpty() && flags.isEmpty();
+    }
+
+    /**
+     * Collects the bonuses of the equipped baubles, see {@link IBauble#contributeBonuses}
+     */
+    public static final class Builder {
+        private final Map<Attribute, Double> attributes = new HashMap<>();
+        private final Set<String> flags = new HashSet<>();
+
+        /**
+         * Add to the bonus of an attribute
+         * @param attribute The attribute
+         * @param amount The amount to add
+         * @return This builder
+         */
+        public Builder add(Attribute attribute, double amount) {
+            attributes.merge(attribute, amount, Double::sum);
+            return this;
+        }
+
+        /**
+         * Set a flag
+         * @param flag The flag
+         * @return This builder
+         */
+        public Builder flag(String flag) {
+            flags.add(flag);
+            return this;
+        }
+
+        public BonusProfile build() {
+            if (attributes.isEmpty() && flags.isEmpty()) {
+                return EMPTY;
+            }
+            return new BonusProfile(Map.copyOf(attributes), Set.copyOf(flags));
+        }
+    }
+}
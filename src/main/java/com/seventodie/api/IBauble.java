@@ -35,14 +35,25 @@ public interface IBauble {
     }
     
     /**
-     * Called every tick while the bauble is equipped
-     * @param itemStack The equipped item
+     * Called periodically while the bauble is equipped, at the interval configured for its type,
+     * on the thread owning the player's region. Handlers that don't override this are never ticked.
+     * @param itemStack A copy of the equipped item, changes to it are not kept
      * @param player The player wearing the bauble
      */
     default void onWornTick(ItemStack itemStack, Player player) {
         // Default implementation does nothing  
     }
     
+    /**
+     * Add the bonuses this bauble gives while equipped to the wearer's profile.
+     * Called whenever the wearer's baubles change, never on the hot paths that read the profile.
+     * @param itemStack A copy of the equipped item
+     * @param bonuses The profile being built
+     */
+    default void contributeBonuses(ItemStack itemStack, BonusProfile.Builder bonuses) {
+        // Default implementation adds nothing
+    }
+    
     /**
      * Check if this bauble can be equipped
      * @param itemStack The item to check
@@ -1,16 +1,20 @@
 package com.seventodie.commands;
 
 import com.seventodie.SevenToDie;
-import com.seventodie.api.BaubleType;
-import org.bukkit.Bukkit;
+import com.seventodie.gui.BaublesHolder;
+import com.seventodie.migration.BaublesImporter;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
 /**
  * Handler for the /baubles command
  */
@@ -23,6 +27,12 @@ public class BaublesCommand implements CommandExecutor {
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        // Admin commands also work from the console
+        if (args.length >= 1 && args[0].equalsIgnoreCase("import")) {
+            importBaubles(sender, args);
+            return true;
+        }
+        
         if (!(sender instanceof Player)) {
             sender.sendMessage(ChatColor.RED + "This command can only be used by players.");
             return true;
@@ -62,13 +72,53 @@ public class BaublesCommand implements CommandExecutor {
      * @param player The player to open the inventory for
      */
     private void openBaublesInventory(Player player) {
-        // In a real implementation, this would open a custom inventory GUI
-        // For now, just send a message
-        player.sendMessage(ChatColor.GREEN + "Opening baubles inventory (not implemented yet)");
+        if (!plugin.getBaubleManager().isLoaded(player)) {
+            player.sendMessage(ChatColor.RED + "Your baubles are still loading, try again in a moment.");
+            return;
+        }
+        BaublesHolder holder = new BaublesHolder(plugin.getBaubleManager(), player);
+        player.openInventory(holder.getInventory());
+    }
+    
+    /**
+     * Import bauble data exported from the Forge mod, in the background
+     * @param sender The command sender
+     * @param args The command arguments, the file name relative to the plugin folder at index 1,
+     *             optionally followed by {@code --overwrite} to replace existing data
+     */
+    private void importBaubles(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("seventodie.admin")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to do this.");
+            return;
+        }
+        boolean overwrite = args.length == 3 && args[2].equalsIgnoreCase("--overwrite");
+        if (args.length < 2 || (args.length > 2 && !overwrite)) {
+            sender.sendMessage(ChatColor.RED + "Usage: /baubles import <file> [--overwrite]");
+            return;
+        }
         
-        // Here's how you might implement it in the future:
-        Inventory inventory = Bukkit.createInventory(player, 9, ChatColor.DARK_PURPLE + "Baubles");
-        player.openInventory(inventory);
+        Path folder = plugin.getDataFolder().toPath().toAbsolutePath().normalize();
+        Path file = folder.resolve(args[1]).normalize();
+        if (!file.startsWith(folder) || !Files.isRegularFile(file)) {
+            sender.sendMessage(ChatColor.RED + "No export file " + args[1] + " in the plugin folder.");
+            return;
+        }
+        
+        sender.sendMessage(ChatColor.YELLOW + "Importing baubles from " + args[1] + ", players who are online are skipped"
+                + (overwrite ? " and existing data is replaced..." : ", players with existing data are kept..."));
+        plugin.getTaskScheduler().runAsync(() -> {
+            try {
+                BaublesImporter.Summary summary = BaublesImporter.importFile(file, plugin.getDataStore(),
+                        plugin.getBaubleManager().getHandlerRegistry(), uuid -> plugin.getServer().getPlayer(uuid) != null, overwrite);
+                sender.sendMessage(ChatColor.GREEN + "Imported " + summary.items() + " baubles of " + summary.players() + " players. "
+                        + ChatColor.GRAY + summary.skipped() + " players online, " + summary.existing() + " players with existing data, "
+                        + summary.empty() + " players without importable baubles, " + summary.unknown() + " unknown items, "
+                        + summary.overflow() + " items without a free slot.");
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not import bauble data from " + file, e);
+                sender.sendMessage(ChatColor.RED + "Import failed: " + e.getMessage());
+            }
+        });
     }
     
     /**
@@ -80,6 +130,9 @@ public class BaublesCommand implements CommandExecutor {
         player.sendMessage(ChatColor.YELLOW + "/baubles - Open your baubles inventory");
         player.sendMessage(ChatColor.YELLOW + "/baubles help - Show this help");
         player.sendMessage(ChatColor.YELLOW + "/baubles list - List your equipped baubles");
+        if (player.hasPermission("seventodie.admin")) {
+            player.sendMessage(ChatColor.YELLOW + "/baubles import <file> [--overwrite] - Import baubles exported from the Forge mod");
+        }
     }
     
     /**
@@ -0,0 +1,97 @@
+package com.seventodie.gui;
+
+import com.seventodie.manager.BaubleManager;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Arrays;
+
+/**
+ * Holder of an open baubles inventory, listeners recognise the GUI by an {@code instanceof} check on it.
+ * The inventory is one row: the 7 bauble slots in slot order (amulet, ring, ring, belt, head, body, charm)
+ * between two filler panes. It only mirrors the player's baubles, every change goes through {@link BaubleManager}.
+ */
+public final class BaublesHolder implements InventoryHolder {
+    // The size of the inventory
+    public static final int SIZE = 9;
+
+    // Inventory slot -> bauble slot, -1 for filler
+    private static final int[] BAUBLE_SLOTS = new int[SIZE];
+    // Bauble slot -> inventory slot
+    private static final int[] INVENTORY_SLOTS = new int[BaubleManager.BAUBLE_SLOTS];
+
+    static {
+        Arrays.fill(BAUBLE_SLOTS, -1);
+        for (int slot = 0; slot < BaubleManager.BAUBLE_SLOTS; slot++) {
+            INVENTORY_SLOTS[slot] = slot + 1;
+            BAUBLE_SLOTS[slot + 1] = slot;
+        }
+    }
+
+    private final BaubleManager baubleManager;
+    private final Player player;
+    private final Inventory inventory;
+
+    public BaublesHolder(BaubleManager baubleManager, Player player) {
+        this.baubleManager = baubleManager;
+        this.player = player;
+        this.inventory = Bukkit.createInventory(this, SIZE, ChatColor.DARK_PURPLE + "Baubles");
+
+        ItemStack filler = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
+        ItemMeta meta = filler.getItemMeta();
+        meta.setDisplayName(" ");
+        filler.setItemMeta(meta);
+        for (int slot = 0; slot < SIZE; slot++) {
+            if (BAUBLE_SLOTS[slot] < 0) {
+                inventory.setItem(slot, filler);
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Show the player's current baubles
+     */
+    public void refresh() {
+        ItemStack[] baubles = baubleManager.getBaubles(player);
+        for (int slot = 0; slot < baubles.length; slot++) {
+            inventory.setItem(INVENTORY_SLOTS[slot], baubles[slot]);
+        }
+    }
+
+    /**
+     * Show the current item of one bauble slot
+     * @param baubleSlot The bauble slot index
+     */
+    public void refresh(int baubleSlot) {
+        inventory.setItem(INVENTORY_SLOTS[baubleSlot], baubleManager.getBauble(player, baubleSlot));
+    }
+
+    /**
+     * Get the bauble slot shown in an inventory slot
+     * @param slot The raw slot of the view
+     * @return The bauble slot index, or -1 if the slot shows no bauble slot
+     */
+    public int getBaubleSlot(int slot) {
+        return slot >= 0 && slot < SIZE ? BAUBLE_SLOTS[slot] : -1;
+    }
+
+    /**
+     * Get the player whose baubles are shown
+     * @return The player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
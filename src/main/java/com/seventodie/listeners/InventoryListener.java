@@ -2,174 +2,216 @@ package com.seventodie.listeners;
 
 import com.seventodie.SevenToDie;
 import com.seventodie.api.IBauble;
+import com.seventodie.gui.BaublesHolder;
 import com.seventodie.manager.BaubleManager;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
 /**
  * Listener for inventory-related events related to baubles
+ * <p>
+ * The baubles GUI is recognised by its {@link BaublesHolder}. Clicks on its slots are always cancelled and
+ * carried out through the {@link BaubleManager}, the GUI is then updated from the manager, so the inventory
+ * only ever shows what the player really has equipped.
  */
 public class InventoryListener implements Listener {
     private final SevenToDie plugin;
-    
+
     public InventoryListener(SevenToDie plugin) {
         this.plugin = plugin;
     }
-    
+
     /**
      * Handle inventory click events in the baubles inventory
      */
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) {
+        // getHolder(false) avoids making a snapshot for inventories of blocks
+        if (!(event.getInventory().getHolder(false) instanceof BaublesHolder holder)) {
             return;
         }
-        
-        Player player = (Player) event.getWhoClicked();
-        Inventory inventory = event.getInventory();
-        
-        // Check if this is a baubles inventory
-        // This is a placeholder - in a real implementation, you'd have a way to identify
-        // baubles inventories, for example by title or custom holder
-        if (event.getView().getTitle().contains("Baubles")) {
-            BaubleManager baubleManager = plugin.getBaubleManager();
-            int slot = event.getRawSlot();
-            
-            // Make sure we're clicking in the top inventory (baubles)
-            if (slot >= 0 && slot < 9) { // Assuming 9-slot inventory
-                ItemStack currentItem = event.getCurrentItem();
-                ItemStack cursorItem = event.getCursor();
-                
-                switch (event.getAction()) {
-                    case PICKUP_ALL:
-                    case PICKUP_HALF:
-                    case PICKUP_ONE:
-                    case PICKUP_SOME:
-                        // Handle removing a bauble
-                        if (currentItem != null && !currentItem.getType().isAir()) {
-                            boolean success = baubleManager.setBauble(player, slot, null);
-                            if (!success) {
-                                event.setCancelled(true);
-                                player.sendMessage(ChatColor.RED + "You cannot remove this bauble!");
-                            }
-                        }
-                        break;
-                        
-                    case PLACE_ALL:
-                    case PLACE_ONE:
-                    case PLACE_SOME:
-                        // Handle placing a bauble
-                        if (cursorItem != null && !cursorItem.getType().isAir()) {
-                            IBauble bauble = baubleManager.getBaubleHandler(cursorItem);
-                            if (bauble != null) {
-                                if (!bauble.getBaubleType(cursorItem).hasSlot(slot)) {
-                                    event.setCancelled(true);
-                                    player.sendMessage(ChatColor.RED + "This bauble cannot be equipped in this slot!");
-                                } else if (!bauble.canEquip(cursorItem, player)) {
-                                    event.setCancelled(true);
-                                    player.sendMessage(ChatColor.RED + "You cannot equip this bauble!");
-                                }
-                            } else {
-                                event.setCancelled(true);
-                                player.sendMessage(ChatColor.RED + "This item is not a bauble!");
-                            }
-                        }
-                        break;
-                        
-                    case SWAP_WITH_CURSOR:
-                        // Handle swapping baubles
-                        event.setCancelled(true); // For simplicity, cancel and handle manually
-                        
-                        if (cursorItem != null && !cursorItem.getType().isAir()) {
-                            IBauble bauble = baubleManager.getBaubleHandler(cursorItem);
-                            if (bauble != null) {
-                                if (bauble.getBaubleType(cursorItem).hasSlot(slot) && bauble.canEquip(cursorItem, player)) {
-                                    // Store old bauble
-                                    ItemStack oldBauble = baubleManager.getBauble(player, slot);
-                                    
-                                    // Remove old bauble
-                                    baubleManager.setBauble(player, slot, null);
-                                    
-                                    // Add new bauble
-                                    if (baubleManager.setBauble(player, slot, cursorItem)) {
-                                        // Set cursor to old bauble
-                                        event.getView().setCursor(oldBauble);
-                                    } else {
-                                        // If equipping fails, put back the old bauble
-                                        baubleManager.setBauble(player, slot, oldBauble);
-                                        player.sendMessage(ChatColor.RED + "Failed to equip bauble!");
-                                    }
-                                } else {
-                                    player.sendMessage(ChatColor.RED + "This bauble cannot be equipped in this slot!");
-                                }
-                            } else {
-                                player.sendMessage(ChatColor.RED + "This item is not a bauble!");
-                            }
+
+        Player player = holder.getPlayer();
+        if (event.getWhoClicked() != player) {
+            event.setCancelled(true);
+            return;
+        }
+
+        int rawSlot = event.getRawSlot();
+        if (rawSlot >= BaublesHolder.SIZE) {
+            // Clicks in the player's own inventory, except those that would move items into the GUI
+            switch (event.getAction()) {
+                case MOVE_TO_OTHER_INVENTORY:
+                    event.setCancelled(true);
+                    quickEquip(event, holder, player);
+                    break;
+                case COLLECT_TO_CURSOR:
+                    event.setCancelled(true);
+                    break;
+                default:
+                    break;
+            }
+            return;
+        }
+
+        // Always cancel the regular inventory click behavior
+        event.setCancelled(true);
+
+        int slot = holder.getBaubleSlot(rawSlot);
+        if (slot < 0) {
+            return;
+        }
+
+        BaubleManager baubleManager = plugin.getBaubleManager();
+        ItemStack currentItem = baubleManager.getBauble(player, slot);
+        ItemStack cursorItem = event.getCursor();
+        boolean emptyCursor = cursorItem == null || cursorItem.getType().isAir();
+
+        switch (event.getAction()) {
+            case MOVE_TO_OTHER_INVENTORY:
+                // Handle unequipping into the player's inventory
+                if (currentItem != null) {
+                    if (player.getInventory().firstEmpty() < 0) {
+                        player.sendMessage(ChatColor.RED + "Your inventory is full!");
+                    } else if (baubleManager.setBauble(player, slot, null)) {
+                        player.getInventory().addItem(currentItem);
+                    } else {
+                        player.sendMessage(ChatColor.RED + "You cannot remove this bauble!");
+                    }
+                }
+                break;
+
+            case PICKUP_ALL:
+            case PICKUP_HALF:
+            case PICKUP_ONE:
+            case PICKUP_SOME:
+            case PLACE_ALL:
+            case PLACE_ONE:
+            case PLACE_SOME:
+            case SWAP_WITH_CURSOR:
+                if (emptyCursor) {
+                    // Handle removing a bauble
+                    if (currentItem != null) {
+                        if (baubleManager.setBauble(player, slot, null)) {
+                            event.getView().setCursor(currentItem);
+                        } else {
+                            player.sendMessage(ChatColor.RED + "You cannot remove this bauble!");
                         }
-                        break;
-                        
-                    default:
-                        // For any other actions, cancel them for simplicity
-                        event.setCancelled(true);
-                        break;
+                    }
+                } else if (currentItem == null) {
+                    // Handle placing a bauble, one at a time
+                    ItemStack single = single(cursorItem);
+                    if (canPlace(player, slot, single) && equip(player, slot, single)) {
+                        event.getView().setCursor(decrement(cursorItem));
+                    }
+                } else if (cursorItem.getAmount() == 1 && canPlace(player, slot, cursorItem)) {
+                    // Handle swapping baubles
+                    if (!baubleManager.setBauble(player, slot, null)) {
+                        player.sendMessage(ChatColor.RED + "You cannot remove this bauble!");
+                    } else if (equip(player, slot, cursorItem)) {
+                        event.getView().setCursor(currentItem);
+                    } else {
+                        // If equipping fails, put back the old bauble
+                        baubleManager.setBauble(player, slot, currentItem);
+                    }
                 }
-                
-                // Always cancel the regular inventory click behavior
-                event.setCancelled(true);
-            }
+                break;
+
+            default:
+                // Any other action is ignored
+                break;
         }
+
+        holder.refresh(slot);
     }
-    
+
     /**
-     * Prevent item dragging in the baubles inventory
+     * Equip a bauble shift-clicked in the player's inventory into the first free slot that accepts it
      */
-    @EventHandler
-    public void onInventoryDrag(InventoryDragEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) {
+    private void quickEquip(InventoryClickEvent event, BaublesHolder holder, Player player) {
+        ItemStack itemStack = event.getCurrentItem();
+        if (itemStack == null || itemStack.getType().isAir()) {
             return;
         }
-        
-        Inventory inventory = event.getInventory();
-        
-        // Check if this is a baubles inventory
-        if (event.getView().getTitle().contains("Baubles")) {
-            // Check if any of the slots are in the top inventory
-            boolean affectsTopInventory = false;
-            for (int slot : event.getRawSlots()) {
-                if (slot < 9) { // Assuming 9-slot inventory
-                    affectsTopInventory = true;
-                    break;
+
+        BaubleManager baubleManager = plugin.getBaubleManager();
+        IBauble bauble = baubleManager.getBaubleHandler(itemStack);
+        if (bauble == null) {
+            player.sendMessage(ChatColor.RED + "This item is not a bauble!");
+            return;
+        }
+
+        ItemStack single = single(itemStack);
+        for (int slot : bauble.getBaubleType(itemStack).getValidSlots()) {
+            if (baubleManager.getBauble(player, slot) == null) {
+                if (equip(player, slot, single)) {
+                    event.setCurrentItem(decrement(itemStack));
+                    holder.refresh(slot);
                 }
+                return;
             }
-            
-            if (affectsTopInventory) {
-                event.setCancelled(true);
-            }
         }
     }
-    
+
+    /**
+     * Check if an item may go in a bauble slot, telling the player why not
+     */
+    private boolean canPlace(Player player, int slot, ItemStack itemStack) {
+        IBauble bauble = plugin.getBaubleManager().getBaubleHandler(itemStack);
+        if (bauble == null) {
+            player.sendMessage(ChatColor.RED + "This item is not a bauble!");
+            return false;
+        }
+        if (!bauble.getBaubleType(itemStack).hasSlot(slot)) {
+            player.sendMessage(ChatColor.RED + "This bauble cannot be equipped in this slot!");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean equip(Player player, int slot, ItemStack itemStack) {
+        if (!plugin.getBaubleManager().setBauble(player, slot, itemStack)) {
+            player.sendMessage(ChatColor.RED + "You cannot equip this bauble!");
+            return false;
+        }
+        return true;
+    }
+
+    private static ItemStack single(ItemStack itemStack) {
+        ItemStack single = itemStack.clone();
+        single.setAmount(1);
+        return single;
+    }
+
+    private static ItemStack decrement(ItemStack itemStack) {
+        if (itemStack.getAmount() <= 1) {
+            return null;
+        }
+        ItemStack rest = itemStack.clone();
+        rest.setAmount(itemStack.getAmount() - 1);
+        return rest;
+    }
+
     /**
-     * Handle closing the baubles inventory
+     * Prevent item dragging in the baubles inventory
      */
     @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
-        if (!(event.getPlayer() instanceof Player)) {
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (!(event.getInventory().getHolder(false) instanceof BaublesHolder)) {
             return;
         }
-        
-        Inventory inventory = event.getInventory();
-        
-        // Check if this is a baubles inventory
-        if (event.getView().getTitle().contains("Baubles")) {
-            // We might need to update something when the inventory is closed
-            // For now, we're not doing anything special
+
+        // Check if any of the slots are in the top inventory
+        for (int slot : event.getRawSlots()) {
+            if (slot < BaublesHolder.SIZE) {
+                event.setCancelled(true);
+                return;
+            }
         }
     }
-}
\ No newline at end of file
+}
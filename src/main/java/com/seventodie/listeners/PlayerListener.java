@@ -3,14 +3,21 @@ package com.seventodie.listeners;
 import com.seventodie.SevenToDie;
 import com.seventodie.api.IBauble;
 import com.seventodie.manager.BaubleManager;
+import com.seventodie.storage.PlayerDataStore;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+
 /**
  * Listener for player-related events
  */
@@ -22,31 +29,57 @@ public class PlayerListener implements Listener {
     }
     
     /**
-     * Handle player join events - load bauble data
+     * Handle async pre-login events - load bauble data off the main thread.
+     * Logins are refused if the data exists but can't be read, so it is never overwritten with empty slots.
+     */
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        
+        PlayerDataStore dataStore = plugin.getDataStore();
+        try {
+            dataStore.preload(event.getUniqueId(), dataStore.load(event.getUniqueId()).join());
+        } catch (CompletionException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not load bauble data of " + event.getName(), e.getCause());
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, Component.text("Your baubles could not be loaded, please try again later."));
+        }
+    }
+    
+    /**
+     * Drop preloaded data if another plugin refused the login
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLoginResult(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            plugin.getDataStore().discardPreloaded(event.getUniqueId());
+        }
+    }
+    
+    /**
+     * Handle player join events - take over the bauble data loaded during login
      */
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
-        
-        // In a real implementation, you would load the player's bauble data from storage
-        plugin.getLogger().info("Loading bauble data for " + player.getName());
-        
-        // Temporary for testing - we're not actually loading any data here
+        plugin.getBaubleManager().loadPlayer(player.getUniqueId(), plugin.getDataStore().takePreloaded(player.getUniqueId()));
+        plugin.getWornTickEngine().start(player);
     }
     
     /**
-     * Handle player quit events - save bauble data if configured
+     * Handle player quit events - queue changed bauble data for saving if configured
      */
-    @EventHandler
+    @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
+        BaubleManager baubleManager = plugin.getBaubleManager();
+        plugin.getWornTickEngine().stop(player);
         
         if (plugin.getConfigHandler().shouldSaveDataOnLogout()) {
-            // In a real implementation, you would save the player's bauble data to storage
-            plugin.getLogger().info("Saving bauble data for " + player.getName());
-            
-            // Temporary for testing - we're not actually saving any data here
+            baubleManager.savePlayerData(player.getUniqueId());
         }
+        baubleManager.unloadPlayer(player.getUniqueId());
     }
     
     /**
@@ -0,0 +1,119 @@
+package com.seventodie.manager;
+
+import com.seventodie.api.BaubleType;
+import com.seventodie.api.IBauble;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.datacomponent.item.CustomModelData;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataHolder;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link IBauble} handler of an item.
+ * Items are matched first by material and custom model data, then by the handler key stored in their
+ * {@code bauble_type} persistent data. Every built-in {@link BaubleType} has a shared handler registered under
+ * its lower case name, and unknown keys fall back to the trinket handler. Lookups read the item's data
+ * components directly, so they never clone the ItemMeta, and resolved keys are cached.
+ * Safe to use from any thread.
+ */
+public class BaubleHandlerRegistry {
+    private final NamespacedKey baubleTypeKey;
+    private final Map<String, IBauble> byKey = new ConcurrentHashMap<>();
+    // (material << 32 | custom model data) -> handler
+    private final Map<Long, IBauble> byModel = new ConcurrentHashMap<>();
+    // Stored keys as found on items, resolved case-insensitively with the trinket fallback
+    private final Map<String, IBauble> resolvedKeys = new ConcurrentHashMap<>();
+    private final Map<BaubleType, IBauble> typeHandlers = new EnumMap<>(BaubleType.class);
+
+    public BaubleHandlerRegistry(NamespacedKey baubleTypeKey) {
+        this.baubleTypeKey = baubleTypeKey;
+        for (BaubleType type : BaubleType.values()) {
+            IBauble handler = itemStack -> type;
+            typeHandlers.put(type, handler);
+            byKey.put(type.name().toLowerCase(Locale.ROOT), handler);
+        }
+    }
+
+    /**
+     * Register a handler for items whose {@code bauble_type} persistent data holds the key
+     * @param key The handler key, matched case-insensitively
+     * @param handler The handler, shared by all matching items
+     */
+    public void register(String key, IBauble handler) {
+        byKey.put(key.toLowerCase(Locale.ROOT), handler);
+        resolvedKeys.clear();
+    }
+
+    /**
+     * Register a handler for items of a material with the given custom model data
+     * @param material The item material
+     * @param customModelData The first custom model data value of the item
+     * @param handler The handler, shared by all matching items
+     */
+    public void register(Material material, int customModelData, IBauble handler) {
+        byModel.put(modelKey(material, customModelData), handler);
+    }
+
+    /**
+     * Get the shared handler of a built-in type
+     * @param type The bauble type
+     * @return The handler
+     */
+    public IBauble getTypeHandler(BaubleType type) {
+        return typeHandlers.get(type);
+    }
+
+    /**
+     * Mark an item as a bauble of a built-in type, so {@link #resolve} finds the type's handler for it
+     * @param holder The item's meta, which the caller applies to the item afterwards
+     * @param type The bauble type
+     */
+    public void tag(PersistentDataHolder holder, BaubleType type) {
+        holder.getPersistentDataContainer().set(baubleTypeKey, PersistentDataType.STRING, type.name().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Get the handler for an item
+     * @param itemStack The item to check
+     * @return The handler, or null if the item isn't a bauble
+     */
+    public IBauble resolve(ItemStack itemStack) {
+        if (itemStack == null || itemStack.isEmpty()) {
+            return null;
+        }
+
+        if (!byModel.isEmpty() && itemStack.hasData(DataComponentTypes.CUSTOM_MODEL_DATA)) {
+            CustomModelData modelData = itemStack.getData(DataComponentTypes.CUSTOM_MODEL_DATA);
+            List<Float> floats = modelData == null ? List.of() : modelData.floats();
+            if (!floats.isEmpty()) {
+                IBauble handler = byModel.get(modelKey(itemStack.getType(), floats.get(0).intValue()));
+                if (handler != null) {
+                    return handler;
+                }
+            }
+        }
+
+        String key = itemStack.getPersistentDataContainer().get(baubleTypeKey, PersistentDataType.STRING);
+        if (key == null) {
+            return null;
+        }
+
+        IBauble handler = byKey.get(key);
+        if (handler != null) {
+            return handler;
+        }
+        return resolvedKeys.computeIfAbsent(key, k -> byKey.getOrDefault(k.toLowerCase(Locale.ROOT), typeHandlers.get(BaubleType.TRINKET)));
+    }
+
+    private static long modelKey(Material material, int customModelData) {
+        return ((long) material.ordinal() << 32) | (customModelData & 0xFFFFFFFFL);
+    }
+}
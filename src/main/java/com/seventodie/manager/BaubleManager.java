@@ -2,61 +2,90 @@ package com.seventodie.manager;
 
 import com.seventodie.SevenToDie;
 import com.seventodie.api.BaubleType;
+import com.seventodie.api.BonusProfile;
 import com.seventodie.api.IBauble;
-import org.bukkit.Material;
+import com.seventodie.storage.PlayerDataStore;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.persistence.PersistentDataContainer;
-import org.bukkit.persistence.PersistentDataType;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages players' bauble inventories
+ * <p>
+ * Concurrency model: every method may be called from any thread, including Paper's async chat and login
+ * threads and region threads. Players are kept in a {@link ConcurrentHashMap} and only added once their stored
+ * data is loaded: until then their slots read as empty and every change is refused, so nothing equipped in the
+ * meantime can be overwritten by the load.
+ * The slots of a player are a {@link PlayerBaubles}, whose slots only change by compare-and-set of an
+ * item copy nobody else holds. Readers always receive copies, so they can never observe or cause a half-made change.
+ * Two concurrent {@link #setBauble} calls on the same slot can't both win: the loser sees that the slot
+ * changed underneath it and fails like any other refused change. The equip callbacks run after the slot was
+ * swapped, on the thread owning the player's region: right away if the change was made there, otherwise
+ * scheduled on the player's entity scheduler, so handlers may always touch the player and its world.
+ * Every change also recomputes the player's {@link BonusProfile}, which readers get without touching a slot.
  */
 public class BaubleManager {
     private final SevenToDie plugin;
-    private final Map<UUID, ItemStack[]> playerBaubles;
-    private final NamespacedKey baubleTypeKey;
+    private final PlayerDataStore dataStore;
+    private final Map<UUID, PlayerBaubles> playerBaubles;
+    private final BaubleHandlerRegistry handlerRegistry;
     
     // The total number of bauble slots
     public static final int BAUBLE_SLOTS = 7;
 
-    public BaubleManager(SevenToDie plugin) {
+    public BaubleManager(SevenToDie plugin, PlayerDataStore dataStore) {
         this.plugin = plugin;
-        this.playerBaubles = new HashMap<>();
-        this.baubleTypeKey = new NamespacedKey(plugin, "bauble_type");
+        this.dataStore = dataStore;
+        this.playerBaubles = new ConcurrentHashMap<>();
+        this.handlerRegistry = new BaubleHandlerRegistry(new NamespacedKey(plugin, "bauble_type"));
+    }
+    
+    /**
+     * Get the bauble slots of a player
+     * @param uuid The player's UUID
+     * @return The player's slots, or null if the player has none loaded
+     */
+    public PlayerBaubles getPlayerBaubles(UUID uuid) {
+        return playerBaubles.get(uuid);
+    }
+    
+    /**
+     * Check if the stored baubles of a player have been loaded, before that the player can't change them
+     * @param player The player
+     * @return True if the player's baubles are loaded
+     */
+    public boolean isLoaded(Player player) {
+        return playerBaubles.containsKey(player.getUniqueId());
     }
     
     /**
      * Get all baubles for a player
      * @param player The player
-     * @return Array of baubles (may contain null values for empty slots)
+     * @return A copy of the baubles (may contain null values for empty slots, all of them if the player isn't
+     *         loaded yet), changes to it have no effect
      */
     public ItemStack[] getBaubles(Player player) {
-        UUID uuid = player.getUniqueId();
-        if (!playerBaubles.containsKey(uuid)) {
-            playerBaubles.put(uuid, new ItemStack[BAUBLE_SLOTS]);
-        }
-        return playerBaubles.get(uuid);
+        PlayerBaubles baubles = getPlayerBaubles(player.getUniqueId());
+        return baubles == null ? new ItemStack[BAUBLE_SLOTS] : baubles.snapshot();
     }
     
     /**
      * Get a bauble in a specific slot
      * @param player The player
      * @param slot The slot index
-     * @return The ItemStack in that slot (null if empty)
+     * @return A copy of the ItemStack in that slot (null if empty or if the player isn't loaded yet)
      */
     public ItemStack getBauble(Player player, int slot) {
         if (slot < 0 || slot >= BAUBLE_SLOTS) {
             return null;
         }
         
-        return getBaubles(player)[slot];
+        PlayerBaubles baubles = getPlayerBaubles(player.getUniqueId());
+        return baubles == null ? null : baubles.get(slot);
     }
     
     /**
@@ -64,30 +93,37 @@ public class BaubleManager {
      * @param player The player
      * @param slot The slot index
      * @param itemStack The bauble to equip (null to unequip)
-     * @return True if successful
+     * @return True if successful, false if refused, if the player isn't loaded yet or if the slot was changed concurrently
      */
     public boolean setBauble(Player player, int slot, ItemStack itemStack) {
         if (slot < 0 || slot >= BAUBLE_SLOTS) {
             return false;
         }
         
-        ItemStack[] baubles = getBaubles(player);
+        PlayerBaubles baubles = getPlayerBaubles(player.getUniqueId());
+        if (baubles == null) {
+            return false;
+        }
+        ItemStack oldBauble = baubles.peek(slot);
         
         // Handle unequipping
-        if (itemStack == null && baubles[slot] != null) {
-            ItemStack oldBauble = baubles[slot];
+        if (itemStack == null && oldBauble != null) {
             IBauble bauble = getBaubleHandler(oldBauble);
-            if (bauble != null) {
-                // Check if can unequip
-                if (!bauble.canUnequip(oldBauble, player)) {
-                    return false;
-                }
-                
-                // Trigger unequip event
-                bauble.onUnequipped(oldBauble, player);
+            
+            // Check if can unequip
+            if (bauble != null && !bauble.canUnequip(oldBauble, player)) {
+                return false;
             }
             
-            baubles[slot] = null;
+            if (!baubles.compareAndSet(slot, oldBauble, null)) {
+                return false;
+            }
+            updateBonusProfile(baubles);
+            
+            // Trigger unequip event
+            if (bauble != null) {
+                plugin.getTaskScheduler().runFor(player, () -> bauble.onUnequipped(oldBauble, player));
+            }
             return true;
         }
         
@@ -107,18 +143,22 @@ public class BaubleManager {
                     return false;
                 }
                 
-                // Handle unequipping previous item
-                ItemStack oldBauble = baubles[slot];
-                if (oldBauble != null) {
-                    IBauble oldHandler = getBaubleHandler(oldBauble);
+                // Equip new bauble
+                if (!baubles.compareAndSet(slot, oldBauble, itemStack.clone())) {
+                    return false;
+                }
+                updateBonusProfile(baubles);
+                
+                // Handle unequipping previous item, then trigger the equip event.
+                // A deferred callback gets its own copy, the caller may still change its stack
+                IBauble oldHandler = oldBauble == null ? null : getBaubleHandler(oldBauble);
+                ItemStack equipped = plugin.getTaskScheduler().isOwner(player) ? itemStack : itemStack.clone();
+                plugin.getTaskScheduler().runFor(player, () -> {
                     if (oldHandler != null) {
                         oldHandler.onUnequipped(oldBauble, player);
                     }
-                }
-                
-                // Equip new bauble
-                baubles[slot] = itemStack.clone();
-                bauble.onEquipped(itemStack, player);
+                    bauble.onEquipped(equipped, player);
+                });
                 return true;
             }
         }
@@ -126,57 +166,111 @@ public class BaubleManager {
         return false;
     }
     
+    /**
+     * Get the bonuses a player currently gets from their baubles
+     * @param player The player
+     * @return The player's profile, empty if the player has no baubles loaded
+     */
+    public BonusProfile getBonusProfile(Player player) {
+        PlayerBaubles baubles = playerBaubles.get(player.getUniqueId());
+        return baubles == null ? BonusProfile.EMPTY : baubles.getBonusProfile();
+    }
+    
+    /**
+     * Recompute the bonus profile of a player's slots
+     * @param baubles The player's slots
+     */
+    private void updateBonusProfile(PlayerBaubles baubles) {
+        // Read the version first, a change racing with the computation publishes a newer profile after it
+        int version = baubles.getVersion();
+        BonusProfile.Builder builder = new BonusProfile.Builder();
+        for (int slot = 0; slot < baubles.size(); slot++) {
+            ItemStack itemStack = baubles.peek(slot);
+            IBauble bauble = itemStack == null ? null : getBaubleHandler(itemStack);
+            if (bauble != null) {
+                bauble.contributeBonuses(itemStack.clone(), builder);
+            }
+        }
+        baubles.publishBonusProfile(version, builder.build());
+    }
+    
     /**
      * Get the IBauble handler for an item if it's a bauble
      * @param itemStack The item to check
      * @return The IBauble handler or null if not a bauble
      */
     public IBauble getBaubleHandler(ItemStack itemStack) {
-        if (itemStack == null || itemStack.getType() == Material.AIR) {
-            return null;
-        }
-        
-        // In a real implementation, we'd need some way to identify bauble items
-        // For this example, we'll use persistent data
-        ItemMeta meta = itemStack.getItemMeta();
-        if (meta == null) {
-            return null;
-        }
-        
-        PersistentDataContainer container = meta.getPersistentDataContainer();
-        if (container.has(baubleTypeKey, PersistentDataType.STRING)) {
-            // Here we would return the actual handler from somewhere
-            // For simplicity, we'll return a dummy handler
-            String type = container.get(baubleTypeKey, PersistentDataType.STRING);
-            return createDummyHandler(type);
-        }
-        
-        return null;
+        return handlerRegistry.resolve(itemStack);
     }
     
     /**
-     * Save all player bauble data
+     * Get the registry other plugins register their bauble handlers with
+     * @return The handler registry
      */
-    public void saveAllPlayerData() {
-        // In a real implementation, this would save to a database or files
-        plugin.getLogger().info("Saving bauble data for " + playerBaubles.size() + " players");
+    public BaubleHandlerRegistry getHandlerRegistry() {
+        return handlerRegistry;
     }
     
     /**
-     * Create a dummy bauble handler for a specific type
-     * @param type The bauble type as a string
-     * @return A bauble handler
+     * Take over the baubles loaded from storage for a player
+     * @param uuid The player's UUID
+     * @param stored The stored slots, null if the player has no stored data
      */
-    private IBauble createDummyHandler(String type) {
-        return new IBauble() {
-            @Override
-            public BaubleType getBaubleType(ItemStack itemStack) {
-                try {
-                    return BaubleType.valueOf(type.toUpperCase());
-                } catch (IllegalArgumentException e) {
-                    return BaubleType.TRINKET;
-                }
-            }
-        };
+    public void loadPlayer(UUID uuid, ItemStack[] stored) {
+        PlayerBaubles baubles = PlayerBaubles.of(BAUBLE_SLOTS, stored);
+        updateBonusProfile(baubles);
+        playerBaubles.put(uuid, baubles);
+    }
+    
+    /**
+     * Forget the baubles of a player, after they have been handed to storage
+     * @param uuid The player's UUID
+     */
+    public void unloadPlayer(UUID uuid) {
+        playerBaubles.remove(uuid);
+    }
+    
+    /**
+     * Check if a player's baubles changed since they were last handed to storage
+     * @param uuid The player's UUID
+     * @return True if the baubles need to be saved
+     */
+    public boolean isDirty(UUID uuid) {
+        PlayerBaubles baubles = playerBaubles.get(uuid);
+        return baubles != null && baubles.isChangedSinceStored();
+    }
+    
+    /**
+     * Copy the baubles of a player for storage
+     * @param uuid The player's UUID
+     * @return A copy of the slots, or null if the player has no baubles loaded
+     */
+    public ItemStack[] snapshot(UUID uuid) {
+        PlayerBaubles baubles = playerBaubles.get(uuid);
+        return baubles == null ? null : baubles.snapshot();
+    }
+    
+    /**
+     * Hand the baubles of a player to storage if they changed since they were loaded or last handed over
+     * @param uuid The player's UUID
+     */
+    public void savePlayerData(UUID uuid) {
+        PlayerBaubles baubles = playerBaubles.get(uuid);
+        if (baubles != null) {
+            baubles.storeIfChanged(snapshot -> dataStore.save(uuid, snapshot));
+        }
+    }
+    
+    /**
+     * Hand the baubles of every player that changed since the last flush to storage.
+     * Whether a player changed is a comparison of two versions, so players without changes cost next to nothing.
+     * A player quitting during the flush is handed over by whichever of the two threads gets there first,
+     * the other finds nothing left to store.
+     */
+    public void saveAllPlayerData() {
+        for (Map.Entry<UUID, PlayerBaubles> entry : playerBaubles.entrySet()) {
+            UUID uuid = entry.getKey();
+            entry.getValue().storeIfChanged(snapshot -> dataStore.save(uuid, snapshot));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.seventodie.manager;
+
+import com.seventodie.api.BonusProfile;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * The bauble slots of one player.
+ * Each slot holds a private copy of the equipped item that is never handed out or modified,
+ * so a slot only changes by swapping the reference, and readers always get their own copies.
+ */
+public final class PlayerBaubles {
+    private final AtomicReferenceArray<ItemStack> slots;
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicReference<Computed> bonuses = new AtomicReference<>(new Computed(-1, BonusProfile.EMPTY));
+    // The version last handed to storage, guarded by this
+    private int storedVersion;
+
+    PlayerBaubles(int size) {
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Create slots holding copies of stored items
+     * @param size The number of slots
+     * @param stored The stored items, may be shorter or longer than the slots, may be null
+     * @return The slots
+     */
+    static PlayerBaubles of(int size, ItemStack[] stored) {
+        PlayerBaubles baubles = new PlayerBaubles(size);
+        if (stored != null) {
+            for (int i = 0; i < Math.min(size, stored.length); i++) {
+                baubles.slots.set(i, stored[i] == null ? null : stored[i].clone());
+            }
+        }
+        return baubles;
+    }
+
+    /**
+     * Get the current item of a slot without copying it, the result must not be modified
+     */
+    ItemStack peek(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * Replace the item of a slot if it still is the expected one
+     * @param slot The slot index
+     * @param expected The item previously returned by {@link #peek(int)}
+     * @param update A copy nobody else holds, or null to empty the slot
+     * @return True if the slot was updated, false if it changed in the meantime
+     */
+    boolean compareAndSet(int slot, ItemStack expected, ItemStack update) {
+        if (!slots.compareAndSet(slot, expected, update)) {
+            return false;
+        }
+        version.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Get a counter that changes whenever a slot changes, to find out if something derived from the slots is stale
+     */
+    int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Check if the slots changed since they were loaded or last handed to storage
+     */
+    synchronized boolean isChangedSinceStored() {
+        return version.get() != storedVersion;
+    }
+
+    /**
+     * Hand a copy of the slots to storage if they changed since they were loaded or last handed over.
+     * Synchronized, so of two threads handing over the same player the later one always passes the newer copy.
+     * @param store Receives the copy while the lock is held
+     * @return True if a copy was handed over
+     */
+    synchronized boolean storeIfChanged(Consumer<ItemStack[]> store) {
+        // Read before copying, a change racing with the copy bumps the version again and is stored next time
+        int current = version.get();
+        if (current == storedVersion) {
+            return false;
+        }
+        store.accept(snapshot());
+        storedVersion = current;
+        return true;
+    }
+
+    /**
+     * Get a copy of a slot
+     * @param slot The slot index
+     * @return A copy of the item, or null if the slot is empty
+     */
+    public ItemStack get(int slot) {
+        ItemStack stack = slots.get(slot);
+        return stack == null ? null : stack.clone();
+    }
+
+    /**
+     * Get copies of all slots
+     * @return A new array with copies of the items (null for empty slots)
+     */
+    public ItemStack[] snapshot() {
+        ItemStack[] copy = new ItemStack[slots.length()];
+        for (int i = 0; i < copy.length; i++) {
+            ItemStack stack = slots.get(i);
+            copy[i] = stack == null ? null : stack.clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Get the bonuses of the equipped baubles
+     * @return The profile computed after the last change
+     */
+    public BonusProfile getBonusProfile() {
+        return bonuses.get().profile();
+    }
+
+    /**
+     * Publish a profile computed from the slots, unless a profile of a later change was published already
+     * @param computedVersion The {@link #getVersion()} read before the profile was computed
+     * @param profile The profile
+     */
+    void publishBonusProfile(int computedVersion, BonusProfile profile) {
+        Computed computed = new Computed(computedVersion, profile);
+        bonuses.updateAndGet(current -> current.version() - computedVersion > 0 ? current : computed);
+    }
+
+    private record Computed(int version, BonusProfile profile) {
+    }
+
+    public int size() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,181 @@
+package com.seventodie.manager;
+
+import com.seventodie.api.BaubleType;
+import com.seventodie.api.IBauble;
+import com.seventodie.util.Config;
+import com.seventodie.util.TaskScheduler;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Calls {@link IBauble#onWornTick} for the equipped baubles of online players.
+ * <p>
+ * Every player has one task on their entity scheduler, so ticks run on the thread owning the player's region.
+ * The task runs every {@code period} ticks, the greatest common divisor of the configured type intervals, and a
+ * bauble of a type with interval {@code I} is ticked on every {@code I / period}th run. Players are numbered as
+ * they are started: player N starts on tick N mod period and ticks on runs shifted by N, so the players wearing a
+ * type are spread evenly over its interval and a server tick only does the work of about players / I of them.
+ * This spreads the cost out but doesn't cap it: the work per tick still grows with the number of players.
+ * A fixed budget would need one tick shared by every region, which the per-player entity schedulers don't have.
+ * <p>
+ * Which slots need ticking is worked out once per change of the player's baubles: handlers that don't override
+ * {@code onWornTick} are left out, and a player without any ticking bauble costs a single version check per run.
+ */
+public class WornTickEngine {
+    private final BaubleManager baubleManager;
+    private final Config config;
+    private final TaskScheduler scheduler;
+    private final Logger logger;
+    private final Map<UUID, ScheduledTask> tasks = new ConcurrentHashMap<>();
+    // Whether a handler class overrides onWornTick
+    private final Map<Class<?>, Boolean> ticking = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final int period;
+
+    public WornTickEngine(BaubleManager baubleManager, Config config, TaskScheduler scheduler, Logger logger) {
+        this.baubleManager = baubleManager;
+        this.config = config;
+        this.scheduler = scheduler;
+        this.logger = logger;
+
+        int gcd = 0;
+        for (BaubleType type : BaubleType.values()) {
+            gcd = gcd(gcd, config.getWornTickInterval(type));
+        }
+        this.period = Math.max(1, gcd);
+    }
+
+    /**
+     * Start ticking the baubles of a player, replacing a previous task of the player
+     * @param player The player
+     */
+    public void start(Player player) {
+        if (!config.isWornTickEnabled()) {
+            return;
+        }
+
+        int index = sequence.getAndIncrement() & Integer.MAX_VALUE;
+        PlayerTicker ticker = new PlayerTicker(player, index);
+        ScheduledTask task = scheduler.runForAtFixedRate(player, ticker, 1 + index % period, period);
+        ScheduledTask previous = task == null ? tasks.remove(player.getUniqueId()) : tasks.put(player.getUniqueId(), task);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Stop ticking the baubles of a player
+     * @param player The player
+     */
+    public void stop(Player player) {
+        ScheduledTask task = tasks.remove(player.getUniqueId());
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Stop ticking all players
+     */
+    public void stopAll() {
+        tasks.values().forEach(ScheduledTask::cancel);
+        tasks.clear();
+    }
+
+    private boolean overridesWornTick(IBauble handler) {
+        return ticking.computeIfAbsent(handler.getClass(), type -> {
+            try {
+                return type.getMethod("onWornTick", ItemStack.class, Player.class).getDeclaringClass() != IBauble.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        });
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * A bauble to tick, with its own copy of the item and how many runs pass between its ticks
+     */
+    private static final class Entry {
+        final IBauble handler;
+        final ItemStack itemStack;
+        final int runs;
+
+        Entry(IBauble handler, ItemStack itemStack, int runs) {
+            this.handler = handler;
+            this.itemStack = itemStack;
+            this.runs = runs;
+        }
+    }
+
+    /**
+     * Ticks one player, only ever runs on the thread owning the player
+     */
+    private final class PlayerTicker implements Runnable {
+        private final Player player;
+        private final int index;
+        private PlayerBaubles baubles;
+        private int version = -1;
+        private Entry[] entries = new Entry[0];
+        private int run;
+
+        PlayerTicker(Player player, int index) {
+            this.player = player;
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            run++;
+            PlayerBaubles current = baubleManager.getPlayerBaubles(player.getUniqueId());
+            if (current == null) {
+                return;
+            }
+            if (current != baubles || current.getVersion() != version) {
+                rebuild(current);
+            }
+
+            for (Entry entry : entries) {
+                if ((run + index) % entry.runs != 0) {
+                    continue;
+                }
+                try {
+                    entry.handler.onWornTick(entry.itemStack, player);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Error ticking bauble of " + player.getName(), e);
+                }
+            }
+        }
+
+        private void rebuild(PlayerBaubles current) {
+            // Read the version first, a change racing with the rebuild makes the next run rebuild again
+            version = current.getVersion();
+            baubles = current;
+
+            List<Entry> found = new ArrayList<>();
+            for (int slot = 0; slot < current.size(); slot++) {
+                ItemStack itemStack = current.peek(slot);
+                IBauble handler = itemStack == null ? null : baubleManager.getBaubleHandler(itemStack);
+                if (handler == null || !overridesWornTick(handler)) {
+                    continue;
+                }
+                int interval = config.getWornTickInterval(handler.getBaubleType(itemStack));
+                found.add(new Entry(handler, itemStack.clone(), interval / period));
+            }
+            entries = found.toArray(new Entry[0]);
+        }
+    }
+}
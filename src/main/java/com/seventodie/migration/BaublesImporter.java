@@ -0,0 +1,159 @@
+package com.seventodie.migration;
+
+import com.seventodie.api.BaubleType;
+import com.seventodie.manager.BaubleHandlerRegistry;
+import com.seventodie.manager.BaubleManager;
+import com.seventodie.storage.PlayerDataStore;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports a {@link PortableBaubles} export into the plugin's storage.
+ * <p>
+ * Items are matched to materials by their registry id. Items of other mods and ids that no longer exist can't
+ * be represented and are counted as unknown; the legacy NBT tags and metadata of the old versions aren't carried
+ * over either, except for durability damage. The export only knows the order of a player's baubles, not their
+ * types, so imported items are tagged as trinkets, which fit every slot, and put into the slots in their old order;
+ * a player with more baubles than slots keeps the first ones.
+ * Players without a single importable bauble are left out, and so are players who already have stored data
+ * unless the import overwrites. Players are handed to the {@link PlayerDataStore} in batches and written by its
+ * background thread.
+ */
+public final class BaublesImporter {
+    private static final int BATCH_SIZE = 512;
+
+    private BaublesImporter() {
+    }
+
+    /**
+     * The outcome of an import
+     * @param players The players imported
+     * @param items The baubles imported
+     * @param skipped The players left out by the filter
+     * @param existing The players left out because they already had stored data
+     * @param empty The players left out because none of their baubles could be imported
+     * @param unknown The baubles without a matching material
+     * @param overflow The baubles that didn't fit into the slots
+     */
+    public record Summary(int players, int items, int skipped, int existing, int empty, int unknown, int overflow) {
+    }
+
+    /**
+     * Import an export file
+     * @param file The export file
+     * @param dataStore The store to write the players to
+     * @param handlers The registry to tag the imported items for
+     * @param skip Players to leave untouched, like those currently online
+     * @param overwrite True to replace the stored data of players who already have some
+     * @return What was imported
+     * @throws IOException If the file can't be read or the store can't be queried
+     */
+    public static Summary importFile(Path file, PlayerDataStore dataStore, BaubleHandlerRegistry handlers,
+                                     Predicate<UUID> skip, boolean overwrite) throws IOException {
+        Counts counts = new Counts();
+        Map<UUID, ItemStack[]> batch = new HashMap<>();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), 65536)))) {
+            PortableBaubles.readHeader(in);
+            PortableBaubles.Player player;
+            while ((player = PortableBaubles.read(in)) != null) {
+                if (skip.test(player.uuid())) {
+                    counts.skipped++;
+                    continue;
+                }
+
+                ItemStack[] slots = new ItemStack[BaubleManager.BAUBLE_SLOTS];
+                int next = 0;
+                for (PortableBaubles.Item item : player.items()) {
+                    ItemStack itemStack = toItemStack(item, handlers);
+                    if (itemStack == null) {
+                        counts.unknown++;
+                    } else if (next >= slots.length) {
+                        counts.overflow++;
+                    } else {
+                        slots[next++] = itemStack;
+                    }
+                }
+                if (next == 0) {
+                    counts.empty++;
+                    continue;
+                }
+
+                batch.put(player.uuid(), slots);
+                if (batch.size() >= BATCH_SIZE) {
+                    save(batch, dataStore, overwrite, counts);
+                    batch = new HashMap<>();
+                }
+            }
+        }
+        save(batch, dataStore, overwrite, counts);
+        return new Summary(counts.players, counts.items, counts.skipped, counts.existing, counts.empty, counts.unknown, counts.overflow);
+    }
+
+    private static void save(Map<UUID, ItemStack[]> batch, PlayerDataStore dataStore, boolean overwrite, Counts counts) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (!overwrite) {
+            Set<UUID> stored;
+            try {
+                stored = dataStore.findStored(batch.keySet()).join();
+            } catch (CompletionException e) {
+                throw new IOException("Could not check for existing bauble data", e.getCause());
+            }
+            counts.existing += stored.size();
+            batch.keySet().removeAll(stored);
+        }
+
+        for (ItemStack[] slots : batch.values()) {
+            for (ItemStack itemStack : slots) {
+                if (itemStack != null) {
+                    counts.items++;
+                }
+            }
+        }
+        counts.players += batch.size();
+        dataStore.saveAll(batch);
+    }
+
+    private static ItemStack toItemStack(PortableBaubles.Item item, BaubleHandlerRegistry handlers) {
+        Material material = Material.matchMaterial(item.id());
+        if (material == null || !material.isItem() || material.isAir()) {
+            return null;
+        }
+
+        ItemStack itemStack = new ItemStack(material, Math.min(item.count(), material.getMaxStackSize()));
+        ItemMeta meta = itemStack.getItemMeta();
+        if (item.damage() > 0 && material.getMaxDurability() > 0 && meta instanceof Damageable damageable) {
+            damageable.setDamage(Math.min(item.damage(), material.getMaxDurability() - 1));
+        }
+        handlers.tag(meta, BaubleType.TRINKET);
+        itemStack.setItemMeta(meta);
+        return itemStack;
+    }
+
+    private static final class Counts {
+        int players;
+        int items;
+        int skipped;
+        int existing;
+        int empty;
+        int unknown;
+        int overflow;
+    }
+}
@@ -0,0 +1,235 @@
+package com.seventodie.migration;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Offline converter from the Forge mod's player data to the {@link PortableBaubles} format.
+ * <p>
+ * Every {@code playerdata/*.dat} file of a world is memory mapped and inflated by a pool of workers, which only
+ * walk down {@code ForgeCaps/baubles:baubles_player/bauble_storage/Items} and skip the rest of the player unread.
+ * The main thread writes the results as they complete, so memory use stays flat for any number of players.
+ * Needs nothing but a JRE:
+ * <pre>java -cp SevenToDie.jar com.seventodie.migration.ForgeBaublesExporter &lt;world&gt; &lt;output&gt; [threads]</pre>
+ */
+public final class ForgeBaublesExporter {
+    private static final String CAPABILITIES = "ForgeCaps";
+    private static final String BAUBLE_CAPABILITY = "baubles:baubles_player";
+    private static final String BAUBLE_STORAGE = "bauble_storage";
+    private static final String ITEMS = "Items";
+
+    private ForgeBaublesExporter() {
+    }
+
+    /**
+     * The outcome of an export
+     * @param files The player files read
+     * @param players The players with at least one bauble
+     * @param items The baubles written
+     * @param failed The player files that could not be read
+     */
+    public record Summary(int files, int players, int items, int failed) {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: ForgeBaublesExporter <world directory> <output file> [threads]");
+            System.exit(1);
+        }
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        Summary summary = export(Paths.get(args[0]), Paths.get(args[1]), threads);
+        System.out.printf("Exported %d baubles of %d players from %d files in %d ms, %d files failed%n",
+                summary.items(), summary.players(), summary.files(), (System.nanoTime() - start) / 1_000_000, summary.failed());
+    }
+
+    /**
+     * Export the baubles of every player of a world
+     * @param world The world directory, containing {@code playerdata}
+     * @param output The file to write
+     * @param threads The number of workers reading player files
+     * @return What was exported
+     * @throws IOException If the player data can't be listed or the output can't be written
+     */
+    public static Summary export(Path world, Path output, int threads) throws IOException, InterruptedException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(world.resolve("playerdata"), "*.dat")) {
+            stream.forEach(files::add);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "Bauble Export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<PortableBaubles.Player> completion = new ExecutorCompletionService<>(executor);
+        int players = 0;
+        int items = 0;
+        int failed = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(output), 65536)))) {
+            for (Path file : files) {
+                completion.submit(() -> readPlayer(file));
+            }
+
+            PortableBaubles.writeHeader(out);
+            for (int i = 0; i < files.size(); i++) {
+                PortableBaubles.Player player;
+                try {
+                    player = completion.take().get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    System.err.println("Skipping unreadable player file: " + e.getCause());
+                    continue;
+                }
+                if (player != null && !player.items().isEmpty()) {
+                    PortableBaubles.write(out, player);
+                    players++;
+                    items += player.items().size();
+                }
+            }
+            PortableBaubles.writeEnd(out);
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Summary(files.size(), players, items, failed);
+    }
+
+    /**
+     * Read the baubles of one player file
+     * @return The player's baubles, or null if the file isn't a player or has no bauble data
+     */
+    static PortableBaubles.Player readPlayer(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(name.substring(0, name.length() - ".dat".length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            NbtReader reader = new NbtReader(new GZIPInputStream(new ByteBufferInputStream(mapped), 8192));
+            if (!reader.enterRoot()
+                    || !reader.find(CAPABILITIES, NbtReader.COMPOUND)
+                    || !reader.find(BAUBLE_CAPABILITY, NbtReader.COMPOUND)
+                    || !reader.find(BAUBLE_STORAGE, NbtReader.COMPOUND)
+                    || !reader.find(ITEMS, NbtReader.LIST)) {
+                return null;
+            }
+            return new PortableBaubles.Player(uuid, readItems(reader));
+        }
+    }
+
+    private static List<PortableBaubles.Item> readItems(NbtReader reader) throws IOException {
+        byte elementType = reader.readByte();
+        int length = reader.readInt();
+        List<PortableBaubles.Item> items = new ArrayList<>();
+        if (elementType != NbtReader.COMPOUND) {
+            for (int i = 0; i < length; i++) {
+                reader.skip(elementType);
+            }
+            return items;
+        }
+
+        for (int i = 0; i < length; i++) {
+            int slot = i;
+            String id = null;
+            int count = 1;
+            int damage = 0;
+            byte[] tag = null;
+
+            byte type;
+            while ((type = reader.nextType()) != NbtReader.END) {
+                String name = reader.readName();
+                switch (name) {
+                    case "Slot":
+                        slot = (int) reader.readNumber(type);
+                        break;
+                    case "Count":
+                        count = (int) reader.readNumber(type);
+                        break;
+                    case "Damage":
+                        damage = (int) reader.readNumber(type);
+                        break;
+                    case "id":
+                        if (type == NbtReader.STRING) {
+                            id = reader.readString();
+                        } else {
+                            reader.skip(type);
+                        }
+                        break;
+                    case "tag":
+                        if (type == NbtReader.COMPOUND) {
+                            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                            reader.copy(type, new DataOutputStream(bytes));
+                            tag = bytes.toByteArray();
+                        } else {
+                            reader.skip(type);
+                        }
+                        break;
+                    default:
+                        reader.skip(type);
+                        break;
+                }
+            }
+
+            if (id != null && count > 0 && !"minecraft:air".equals(id)) {
+                items.add(new PortableBaubles.Item(slot, id, count, Math.max(0, damage), tag));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Reads a mapped file without copying it to the heap first
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
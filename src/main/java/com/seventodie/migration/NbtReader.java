@@ -0,0 +1,228 @@
+package com.seventodie.migration;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming reader for the binary NBT format, free of any Minecraft classes so it works without a server.
+ * It walks the input once: callers descend into the compounds they care about with {@link #find} and every
+ * other tag is skipped without being decoded or kept in memory.
+ */
+final class NbtReader {
+    static final byte END = 0;
+    static final byte BYTE = 1;
+    static final byte SHORT = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte FLOAT = 5;
+    static final byte DOUBLE = 6;
+    static final byte BYTE_ARRAY = 7;
+    static final byte STRING = 8;
+    static final byte LIST = 9;
+    static final byte COMPOUND = 10;
+    static final byte INT_ARRAY = 11;
+    static final byte LONG_ARRAY = 12;
+
+    private static final int MAX_DEPTH = 512;
+
+    private final DataInputStream in;
+    private final byte[] buffer = new byte[4096];
+
+    NbtReader(InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    /**
+     * Read the header of the root tag
+     * @return True if the root is a compound, positioned at its first child
+     */
+    boolean enterRoot() throws IOException {
+        byte type = in.readByte();
+        if (type != COMPOUND) {
+            return false;
+        }
+        in.skipBytes(in.readUnsignedShort());
+        return true;
+    }
+
+    /**
+     * Skip the children of the current compound until one with the given name and type
+     * @return True if found, positioned at its payload; false if the compound ended, which is then consumed
+     */
+    boolean find(String name, byte type) throws IOException {
+        byte childType;
+        while ((childType = in.readByte()) != END) {
+            String childName = in.readUTF();
+            if (childType == type && childName.equals(name)) {
+                return true;
+            }
+            skip(childType);
+        }
+        return false;
+    }
+
+    /**
+     * Read the type of the next child of the current compound
+     * @return The type, {@link #END} once the compound is finished
+     */
+    byte nextType() throws IOException {
+        return in.readByte();
+    }
+
+    String readName() throws IOException {
+        return in.readUTF();
+    }
+
+    String readString() throws IOException {
+        return in.readUTF();
+    }
+
+    int readInt() throws IOException {
+        return in.readInt();
+    }
+
+    byte readByte() throws IOException {
+        return in.readByte();
+    }
+
+    /**
+     * Read a numeric payload of any integer or floating point type
+     */
+    long readNumber(byte type) throws IOException {
+        switch (type) {
+            case BYTE:
+                return in.readByte();
+            case SHORT:
+                return in.readShort();
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return (long) in.readFloat();
+            case DOUBLE:
+                return (long) in.readDouble();
+            default:
+                skip(type);
+                return 0;
+        }
+    }
+
+    /**
+     * Skip the remaining children of the current compound
+     */
+    void skipRest() throws IOException {
+        byte type;
+        while ((type = in.readByte()) != END) {
+            in.skipBytes(in.readUnsignedShort());
+            skip(type);
+        }
+    }
+
+    /**
+     * Skip a payload
+     */
+    void skip(byte type) throws IOException {
+        copy(type, null, 0);
+    }
+
+    /**
+     * Copy a payload unchanged
+     * @param type The type of the payload
+     * @param out Where the payload bytes go
+     */
+    void copy(byte type, DataOutput out) throws IOException {
+        copy(type, out, 0);
+    }
+
+    private void copy(byte type, DataOutput out, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("NBT nested too deep");
+        }
+        switch (type) {
+            case BYTE:
+                transfer(1, out);
+                break;
+            case SHORT:
+                transfer(2, out);
+                break;
+            case INT:
+            case FLOAT:
+                transfer(4, out);
+                break;
+            case LONG:
+            case DOUBLE:
+                transfer(8, out);
+                break;
+            case BYTE_ARRAY:
+                transfer(length(out), out);
+                break;
+            case INT_ARRAY:
+                transfer(length(out) * 4L, out);
+                break;
+            case LONG_ARRAY:
+                transfer(length(out) * 8L, out);
+                break;
+            case STRING: {
+                int length = in.readUnsignedShort();
+                if (out != null) {
+                    out.writeShort(length);
+                }
+                transfer(length, out);
+                break;
+            }
+            case LIST: {
+                byte elementType = in.readByte();
+                int length = length(null);
+                if (out != null) {
+                    out.writeByte(elementType);
+                    out.writeInt(length);
+                }
+                for (int i = 0; i < length; i++) {
+                    copy(elementType, out, depth + 1);
+                }
+                break;
+            }
+            case COMPOUND: {
+                byte childType;
+                while ((childType = in.readByte()) != END) {
+                    if (out != null) {
+                        out.writeByte(childType);
+                    }
+                    copy(STRING, out, depth + 1);
+                    copy(childType, out, depth + 1);
+                }
+                if (out != null) {
+                    out.writeByte(END);
+                }
+                break;
+            }
+            default:
+                throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private int length(DataOutput out) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative NBT length " + length);
+        }
+        if (out != null) {
+            out.writeInt(length);
+        }
+        return length;
+    }
+
+    private void transfer(long length, DataOutput out) throws IOException {
+        while (length > 0) {
+            int chunk = (int) Math.min(length, buffer.length);
+            in.readFully(buffer, 0, chunk);
+            if (out != null) {
+                out.write(buffer, 0, chunk);
+            }
+            length -= chunk;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.seventodie.migration;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, version independent exchange format for bauble data, written by {@link ForgeBaublesExporter} and
+ * read by {@link BaublesImporter}. Items are kept as their registry id, count, damage and the raw bytes of
+ * their NBT tag, so nothing is lost even when the importing side can't interpret all of it.
+ * <p>
+ * Layout, inside a GZIP stream: the magic, the format version, then for every player a {@code true} boolean,
+ * the UUID as two longs, the number of items and the items, and a {@code false} boolean after the last player.
+ * An item is its slot, id, count and damage followed by the length of its tag payload, 0 for no tag.
+ */
+final class PortableBaubles {
+    static final int MAGIC = 0x53324442; // "S2DB"
+    static final int VERSION = 1;
+
+    private PortableBaubles() {
+    }
+
+    /**
+     * The baubles of one player
+     */
+    record Player(UUID uuid, List<Item> items) {
+    }
+
+    /**
+     * One bauble
+     * @param slot The slot the item was in on the exporting side
+     * @param id The registry id, like {@code minecraft:diamond}
+     * @param tag The payload of the item's compound tag, or null without a tag
+     */
+    record Item(int slot, String id, int count, int damage, byte[] tag) {
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    static void write(DataOutputStream out, Player player) throws IOException {
+        out.writeBoolean(true);
+        out.writeLong(player.uuid().getMostSignificantBits());
+        out.writeLong(player.uuid().getLeastSignificantBits());
+        writeVarInt(out, player.items().size());
+        for (Item item : player.items()) {
+            writeVarInt(out, item.slot());
+            out.writeUTF(item.id());
+            writeVarInt(out, item.count());
+            writeVarInt(out, item.damage());
+            byte[] tag = item.tag();
+            writeVarInt(out, tag == null ? 0 : tag.length);
+            if (tag != null) {
+                out.write(tag);
+            }
+        }
+    }
+
+    static void writeEnd(DataOutputStream out) throws IOException {
+        out.writeBoolean(false);
+    }
+
+    static void readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a portable bauble export");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported portable bauble export version " + version);
+        }
+    }
+
+    /**
+     * Read the next player
+     * @return The player, or null after the last one
+     */
+    static Player read(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        UUID uuid = new UUID(in.readLong(), in.readLong());
+        int count = readVarInt(in);
+        List<Item> items = new ArrayList<>(Math.min(count, 64));
+        for (int i = 0; i < count; i++) {
+            int slot = readVarInt(in);
+            String id = in.readUTF();
+            int amount = readVarInt(in);
+            int damage = readVarInt(in);
+            int tagLength = readVarInt(in);
+            byte[] tag = null;
+            if (tagLength > 0) {
+                tag = new byte[tagLength];
+                in.readFully(tag);
+            }
+            items.add(new Item(slot, id, amount, damage, tag));
+        }
+        return new Player(uuid, items);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EOFException("VarInt too long");
+    }
+}
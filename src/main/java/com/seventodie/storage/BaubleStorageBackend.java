@@ -0,0 +1,67 @@
+package com.seventodie.storage;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Where player baubles are kept between sessions.
+ * Implementations are only ever called from the single storage thread of {@link PlayerDataStore},
+ * so they don't need to be thread safe, but they may block.
+ */
+public interface BaubleStorageBackend {
+
+    /**
+     * Load the baubles of a player
+     * @param uuid The player's UUID
+     * @return The stored slots (null entries for empty slots), or null if nothing was stored for the player yet
+     * @throws IOException If the data exists but could not be read
+     */
+    ItemStack[] load(UUID uuid) throws IOException;
+
+    /**
+     * Check if anything is stored for a player, without necessarily reading it
+     * @param uuid The player's UUID
+     * @return True if {@link #load} would return data
+     * @throws IOException If the storage could not be queried
+     */
+    default boolean exists(UUID uuid) throws IOException {
+        return load(uuid) != null;
+    }
+
+    /**
+     * Store the baubles of a player, replacing what was stored before
+     * @param uuid The player's UUID
+     * @param baubles The slots to store (null entries for empty slots)
+     * @throws IOException If the data could not be written
+     */
+    void save(UUID uuid, ItemStack[] baubles) throws IOException;
+
+    /**
+     * Store the baubles of several players at once. Backends that can commit a batch in one
+     * transaction or sync should override this, by default every player is saved on its own.
+     * A player that can't be written must not keep the others from being written.
+     * @param batch The slots to store by player
+     * @return The error of each player that could not be written, empty if the whole batch was written
+     */
+    default Map<UUID, Exception> saveAll(Map<UUID, ItemStack[]> batch) {
+        Map<UUID, Exception> failed = new HashMap<>();
+        for (Map.Entry<UUID, ItemStack[]> entry : batch.entrySet()) {
+            try {
+                save(entry.getKey(), entry.getValue());
+            } catch (IOException | RuntimeException e) {
+                failed.put(entry.getKey(), e);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Release any resources held by the backend
+     */
+    default void close() throws IOException {
+    }
+}
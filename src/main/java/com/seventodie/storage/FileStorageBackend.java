@@ -0,0 +1,162 @@
+package com.seventodie.storage;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores the baubles of each player in its own binary file, {@code <uuid>.dat} under the given folder.
+ * The slots are written with Paper's versioned item serialization, so stored items are upgraded
+ * by the server's data fixers when the Minecraft version changes.
+ * Files are synced and replaced atomically, a crash while saving leaves the previous file intact.
+ */
+public class FileStorageBackend implements BaubleStorageBackend {
+    private static final int MAGIC = 0x37324442; // "72DB"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path folder;
+
+    public FileStorageBackend(Path folder) throws IOException {
+        this.folder = folder;
+        Files.createDirectories(folder);
+    }
+
+    @Override
+    public ItemStack[] load(UUID uuid) throws IOException {
+        Path file = file(uuid);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a bauble data file: " + file);
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported bauble data version " + version + " in " + file);
+            }
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+
+            ItemStack[] items = ItemStack.deserializeItemsFromBytes(data);
+            for (int i = 0; i < items.length; i++) {
+                if (items[i] != null && items[i].isEmpty()) {
+                    items[i] = null;
+                }
+            }
+            return items;
+        }
+    }
+
+    @Override
+    public boolean exists(UUID uuid) {
+        return Files.exists(file(uuid));
+    }
+
+    @Override
+    public void save(UUID uuid, ItemStack[] baubles) throws IOException {
+        Path temp = writeTemp(uuid, baubles);
+        replace(temp, file(uuid));
+        syncFolder();
+    }
+
+    /**
+     * Writes and syncs the temporary file of every player first, then renames them all and syncs the folder once,
+     * so the whole batch becomes durable together at the cost of a single directory sync
+     */
+    @Override
+    public Map<UUID, Exception> saveAll(Map<UUID, ItemStack[]> batch) {
+        Map<UUID, Exception> failed = new HashMap<>();
+        Map<UUID, Path> written = new LinkedHashMap<>();
+        for (Map.Entry<UUID, ItemStack[]> entry : batch.entrySet()) {
+            try {
+                written.put(entry.getKey(), writeTemp(entry.getKey(), entry.getValue()));
+            } catch (IOException | RuntimeException e) {
+                failed.put(entry.getKey(), e);
+            }
+        }
+
+        List<UUID> replaced = new ArrayList<>(written.size());
+        for (Map.Entry<UUID, Path> entry : written.entrySet()) {
+            try {
+                replace(entry.getValue(), file(entry.getKey()));
+                replaced.add(entry.getKey());
+            } catch (IOException e) {
+                failed.put(entry.getKey(), e);
+            }
+        }
+
+        if (!replaced.isEmpty()) {
+            try {
+                syncFolder();
+            } catch (IOException e) {
+                // The renames may not survive a crash, so these players are written again
+                for (UUID uuid : replaced) {
+                    failed.put(uuid, e);
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Writes the slots of a player to its temporary file and syncs it to disk
+     */
+    private Path writeTemp(UUID uuid, ItemStack[] baubles) throws IOException {
+        byte[] data = ItemStack.serializeItemsAsBytes(baubles);
+        Path temp = folder.resolve(uuid + ".dat.tmp");
+
+        ByteBuffer buffer = ByteBuffer.allocate(12 + data.length);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(data.length).put(data).flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        return temp;
+    }
+
+    private static void replace(Path temp, Path file) throws IOException {
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Syncs the folder, which makes the renames in it durable
+     */
+    private void syncFolder() throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(folder, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // Some platforms, like Windows, can't open a directory, the renames are as durable as they get there
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private Path file(UUID uuid) {
+        return folder.resolve(uuid + ".dat");
+    }
+}
@@ -0,0 +1,243 @@
+package com.seventodie.storage;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs all bauble storage I/O on a single background thread, so the main thread never waits on the disk.
+ * Saves are write-behind: snapshots wait in a pending map where a newer snapshot of the same player replaces
+ * the older one, and a single write, started a moment after the first save, hands everything pending to the backend
+ * as one batch. Players whose write failed stay pending and are retried with a growing delay.
+ * Loads run on the same thread and read a pending snapshot before the backend, so a player who quits and
+ * reconnects right away always gets the data from the quit.
+ * Callers hand in snapshots, the store never touches live inventories.
+ */
+public class PlayerDataStore {
+    // How long a write waits after the first save, so saves arriving meanwhile go into the same batch
+    private static final long WRITE_DELAY_MILLIS = 1000;
+    // Delay before the first retry of a failed write, doubled on every further failure
+    private static final long RETRY_DELAY_MILLIS = 5000;
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final BaubleStorageBackend backend;
+    private final Logger logger;
+    private final ScheduledThreadPoolExecutor executor;
+    // Baubles loaded during login, waiting for the player to join on the main thread
+    private final Map<UUID, ItemStack[]> preloaded = new ConcurrentHashMap<>();
+    // Snapshots waiting to be written, only the latest of each player is kept
+    private final Map<UUID, ItemStack[]> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    // Only used on the storage thread
+    private long retryDelayMillis = RETRY_DELAY_MILLIS;
+
+    public PlayerDataStore(BaubleStorageBackend backend, Logger logger) {
+        this.backend = backend;
+        this.logger = logger;
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "SevenToDie Storage");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Shutdown writes everything right away, waiting writes and retries would only hold it up
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Load the baubles of a player on the storage thread
+     * @param uuid The player's UUID
+     * @return A future of the stored slots, null if nothing was stored yet, failing if the data couldn't be read
+     */
+    public CompletableFuture<ItemStack[]> load(UUID uuid) {
+        return CompletableFuture.supplyAsync(() -> {
+            ItemStack[] unwritten = pending.get(uuid);
+            if (unwritten != null) {
+                return copy(unwritten);
+            }
+            try {
+                return backend.load(uuid);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Find out on the storage thread which of the given players already have stored or pending data
+     * @param uuids The players to check
+     * @return A future of the players that have data, failing if the storage couldn't be queried
+     */
+    public CompletableFuture<Set<UUID>> findStored(Collection<UUID> uuids) {
+        List<UUID> players = new ArrayList<>(uuids);
+        return CompletableFuture.supplyAsync(() -> {
+            Set<UUID> stored = new HashSet<>();
+            try {
+                for (UUID uuid : players) {
+                    if (pending.containsKey(uuid) || backend.exists(uuid)) {
+                        stored.add(uuid);
+                    }
+                }
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return stored;
+        }, executor);
+    }
+
+    /**
+     * Keep baubles loaded during login until the player joins
+     */
+    public void preload(UUID uuid, ItemStack[] baubles) {
+        preloaded.put(uuid, baubles == null ? new ItemStack[0] : baubles);
+    }
+
+    /**
+     * Take the baubles loaded during login
+     * @param uuid The player's UUID
+     * @return The loaded slots, or null if nothing was preloaded for the player
+     */
+    public ItemStack[] takePreloaded(UUID uuid) {
+        return preloaded.remove(uuid);
+    }
+
+    /**
+     * Drop preloaded baubles of a player whose login was cancelled
+     */
+    public void discardPreloaded(UUID uuid) {
+        preloaded.remove(uuid);
+    }
+
+    /**
+     * Queue a snapshot of a player's baubles to be written with the next batch on the storage thread
+     * @param uuid The player's UUID
+     * @param snapshot A copy of the slots that is not modified afterwards
+     */
+    public void save(UUID uuid, ItemStack[] snapshot) {
+        pending.put(uuid, snapshot);
+        scheduleWrite(WRITE_DELAY_MILLIS);
+    }
+
+    /**
+     * Queue snapshots of several players to be written together
+     * @param snapshots Copies of the slots by player, not modified afterwards
+     */
+    public void saveAll(Map<UUID, ItemStack[]> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        pending.putAll(snapshots);
+        scheduleWrite(WRITE_DELAY_MILLIS);
+    }
+
+    private void scheduleWrite(long delayMillis) {
+        if (writeScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(this::writePending, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                writeScheduled.set(false);
+                logger.warning("Bauble data storage is shut down, " + pending.size() + " players were not saved");
+            }
+        }
+    }
+
+    /**
+     * Writes everything pending as one batch, snapshots replaced while writing stay pending for the next batch.
+     * Players that failed stay pending as well, without holding back the others, and a retry is scheduled for them.
+     */
+    private void writePending() {
+        writeScheduled.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, ItemStack[]> batch = new HashMap<>(pending);
+        Map<UUID, Exception> failed;
+        try {
+            failed = backend.saveAll(batch);
+        } catch (RuntimeException e) {
+            // A broken backend, leave the batch pending
+            logger.log(Level.SEVERE, "Could not save bauble data of " + batch.size() + " players", e);
+            scheduleRetry();
+            return;
+        }
+
+        for (Map.Entry<UUID, ItemStack[]> entry : batch.entrySet()) {
+            Exception error = failed.get(entry.getKey());
+            if (error == null) {
+                // Only drops snapshots that weren't replaced in the meantime
+                pending.remove(entry.getKey(), entry.getValue());
+            } else {
+                logger.log(Level.SEVERE, "Could not save bauble data of player " + entry.getKey(), error);
+            }
+        }
+
+        if (failed.isEmpty()) {
+            retryDelayMillis = RETRY_DELAY_MILLIS;
+        } else {
+            scheduleRetry();
+        }
+    }
+
+    private void scheduleRetry() {
+        logger.warning("Retrying to save bauble data in " + retryDelayMillis / 1000 + " seconds");
+        scheduleWrite(retryDelayMillis);
+        retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+    }
+
+    private static ItemStack[] copy(ItemStack[] snapshot) {
+        ItemStack[] copy = new ItemStack[snapshot.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = snapshot[i] == null ? null : snapshot[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Finish the queued work, waiting at most the given time, and close the backend
+     * @return True if all queued work was done in time
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        try {
+            executor.execute(this::writePending);
+        } catch (RejectedExecutionException e) {
+            logger.warning("Bauble data storage is shut down, " + pending.size() + " players were not saved");
+        }
+        executor.shutdown();
+        boolean done;
+        try {
+            done = executor.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done = false;
+        }
+        if (!done || !pending.isEmpty()) {
+            logger.warning("Bauble data storage did not finish in time, changes of " + pending.size() + " players may be lost");
+            executor.shutdownNow();
+            done = false;
+        }
+
+        try {
+            backend.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not close the bauble data storage", e);
+        }
+        return done;
+    }
+}
@@ -1,8 +1,11 @@
 package com.seventodie.util;
 
 import com.seventodie.SevenToDie;
+import com.seventodie.api.BaubleType;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.util.Locale;
+
 /**
  * Handles configuration settings for the SevenToDie plugin
  */
@@ -14,6 +17,12 @@ public class Config {
     private boolean renderBaubles = true;
     private boolean enableRightClickEquip = true;
     private boolean saveDataOnLogout = true;
+    private String storageBackend = "file";
+    private int flushIntervalSeconds = 30;
+    private int shutdownTimeoutSeconds = 10;
+    private boolean wornTickEnabled = true;
+    private int wornTickInterval = 20;
+    private final int[] wornTickIntervals = new int[BaubleType.values().length];
     
     public Config(SevenToDie plugin) {
         this.plugin = plugin;
@@ -40,6 +49,21 @@ public class Config {
         if (!config.isSet("save_data_on_logout")) {
             config.set("save_data_on_logout", saveDataOnLogout);
         }
+        if (!config.isSet("storage.backend")) {
+            config.set("storage.backend", storageBackend);
+        }
+        if (!config.isSet("storage.flush_interval_seconds")) {
+            config.set("storage.flush_interval_seconds", flushIntervalSeconds);
+        }
+        if (!config.isSet("storage.shutdown_timeout_seconds")) {
+            config.set("storage.shutdown_timeout_seconds", shutdownTimeoutSeconds);
+        }
+        if (!config.isSet("worn_tick.enabled")) {
+            config.set("worn_tick.enabled", wornTickEnabled);
+        }
+        if (!config.isSet("worn_tick.default_interval")) {
+            config.set("worn_tick.default_interval", wornTickInterval);
+        }
         
         // Save if we added any default values
         plugin.saveConfig();
@@ -48,6 +72,15 @@ public class Config {
         renderBaubles = config.getBoolean("render_baubles", true);
         enableRightClickEquip = config.getBoolean("enable_right_click_equip", true);
         saveDataOnLogout = config.getBoolean("save_data_on_logout", true);
+        storageBackend = config.getString("storage.backend", "file");
+        flushIntervalSeconds = Math.max(0, config.getInt("storage.flush_interval_seconds", 30));
+        shutdownTimeoutSeconds = Math.max(1, config.getInt("storage.shutdown_timeout_seconds", 10));
+        wornTickEnabled = config.getBoolean("worn_tick.enabled", true);
+        wornTickInterval = Math.max(1, config.getInt("worn_tick.default_interval", 20));
+        for (BaubleType type : BaubleType.values()) {
+            String path = "worn_tick.intervals." + type.name().toLowerCase(Locale.ROOT);
+            wornTickIntervals[type.ordinal()] = Math.max(1, config.getInt(path, wornTickInterval));
+        }
     }
     
     /**
@@ -73,4 +106,45 @@ public class Config {
     public boolean shouldSaveDataOnLogout() {
         return saveDataOnLogout;
     }
+    
+    /**
+     * Get the storage backend to keep bauble data in
+     * @return The backend name, currently only "file"
+     */
+    public String getStorageBackend() {
+        return storageBackend;
+    }
+    
+    /**
+     * Get how often changed bauble data is written to storage
+     * @return The interval in seconds, 0 if periodic flushing is disabled
+     */
+    public int getFlushIntervalSeconds() {
+        return flushIntervalSeconds;
+    }
+    
+    /**
+     * Get how long shutdown waits for pending bauble data to be written
+     * @return The timeout in seconds
+     */
+    public int getShutdownTimeoutSeconds() {
+        return shutdownTimeoutSeconds;
+    }
+    
+    /**
+     * Check if worn baubles are ticked
+     * @return True if onWornTick is called for equipped baubles
+     */
+    public boolean isWornTickEnabled() {
+        return wornTickEnabled;
+    }
+    
+    /**
+     * Get how often equipped baubles of a type are ticked
+     * @param type The bauble type
+     * @return The interval in server ticks, at least 1
+     */
+    public int getWornTickInterval(BaubleType type) {
+        return wornTickIntervals[type.ordinal()];
+    }
 }
\ No newline at end of file
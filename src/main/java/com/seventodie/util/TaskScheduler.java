@@ -0,0 +1,95 @@
+package com.seventodie.util;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules the plugin's work on Paper's region aware schedulers, so the same code runs on Paper and on Folia.
+ * Work on a player goes to the player's entity scheduler and runs on the thread owning the player's region,
+ * following the player across regions and dropped once the player is gone.
+ * Work that touches no world state, like handing snapshots to storage, runs on the async scheduler.
+ */
+public class TaskScheduler {
+    private final Plugin plugin;
+
+    public TaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Check if the current thread owns an entity and may touch it directly
+     * @param entity The entity
+     * @return True if the entity may be used without scheduling
+     */
+    public boolean isOwner(Entity entity) {
+        return Bukkit.isOwnedByCurrentRegion(entity);
+    }
+
+    /**
+     * Run a task on the thread owning an entity, right away if the current thread already owns it
+     * @param entity The entity
+     * @param task The task
+     */
+    public void runFor(Entity entity, Runnable task) {
+        if (isOwner(entity)) {
+            task.run();
+        } else {
+            entity.getScheduler().execute(plugin, task, null, 1L);
+        }
+    }
+
+    /**
+     * Run a task on the thread owning an entity at a fixed rate, as long as the entity exists
+     * @param entity The entity
+     * @param task The task
+     * @param delayTicks Ticks before the first run, at least 1
+     * @param periodTicks Ticks between runs, at least 1
+     * @return The scheduled task, or null if the entity was already removed
+     */
+    public ScheduledTask runForAtFixedRate(Entity entity, Runnable task, long delayTicks, long periodTicks) {
+        return entity.getScheduler().runAtFixedRate(plugin, scheduled -> task.run(), null, Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+    }
+
+    /**
+     * Run a task on the global region at a fixed rate
+     * @param task The task
+     * @param delayTicks Ticks before the first run, at least 1
+     * @param periodTicks Ticks between runs, at least 1
+     * @return The scheduled task
+     */
+    public ScheduledTask runGlobalAtFixedRate(Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+    }
+
+    /**
+     * Run a task off the server threads
+     * @param task The task, must not touch world or entity state
+     */
+    public void runAsync(Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+
+    /**
+     * Run a task off the server threads at a fixed rate
+     * @param task The task, must not touch world or entity state
+     * @param delay Time before the first run
+     * @param period Time between runs
+     * @param unit The unit of delay and period
+     * @return The scheduled task
+     */
+    public ScheduledTask runAsyncAtFixedRate(Runnable task, long delay, long period, TimeUnit unit) {
+        return Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(), delay, period, unit);
+    }
+
+    /**
+     * Cancel the plugin's global and async tasks, entity tasks end with their entity
+     */
+    public void cancelAll() {
+        Bukkit.getGlobalRegionScheduler().cancelTasks(plugin);
+        Bukkit.getAsyncScheduler().cancelTasks(plugin);
+    }
+}